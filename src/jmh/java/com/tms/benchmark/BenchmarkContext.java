@@ -0,0 +1,60 @@
+package com.tms.benchmark;
+
+import com.tms.TmsApplication;
+import com.tms.dto.ShipmentFilter;
+import com.tms.model.ShipmentStatus;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Boots the application without a web server against a file-based H2 database in target/.
+// The first fork creates it from data.sql plus benchmark-data.sql (1M shipments); later forks
+// reuse it, so delete target/benchmark-db.mv.db to reseed. Request logging is turned down so
+// that console output does not dominate the measurements.
+final class BenchmarkContext {
+
+    private static final Path DATABASE = Path.of("target", "benchmark-db").toAbsolutePath();
+
+    private BenchmarkContext() {
+    }
+
+    // Extra --property=value arguments override the defaults below
+    static ConfigurableApplicationContext start(String... overrides) {
+        boolean seeded = Files.exists(Path.of(DATABASE + ".mv.db"));
+        // Passed as arguments so they take precedence over application.properties
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.datasource.url=jdbc:h2:file:" + DATABASE + ";CACHE_SIZE=262144;QUERY_CACHE_SIZE=64;DB_CLOSE_ON_EXIT=FALSE",
+            "--spring.jpa.hibernate.ddl-auto=" + (seeded ? "update" : "create"),
+            "--spring.sql.init.mode=" + (seeded ? "never" : "always"),
+            "--spring.sql.init.data-locations=classpath:data.sql,classpath:benchmark-data.sql",
+            "--spring.h2.console.enabled=false",
+            "--spring.devtools.restart.enabled=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.tms=WARN"
+        ));
+        args.addAll(List.of(overrides));
+        return new SpringApplicationBuilder(TmsApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(args.toArray(String[]::new));
+    }
+
+    // Filter shapes exercised by the query benchmarks
+    static ShipmentFilter filter(String shape) {
+        return switch (shape) {
+            case "none" -> null;
+            case "status" -> ShipmentFilter.builder().status(ShipmentStatus.IN_TRANSIT).build();
+            case "shipperSubstring" -> ShipmentFilter.builder().shipperName("pper 4242").build();
+            case "rateRange" -> ShipmentFilter.builder().minRate(100.0).maxRate(200.0).build();
+            case "combined" -> ShipmentFilter.builder()
+                .status(ShipmentStatus.DELAYED)
+                .flagged(true)
+                .minRate(500.0)
+                .build();
+            default -> throw new IllegalArgumentException("Unknown filter shape: " + shape);
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package com.tms.benchmark;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.tms.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.concurrent.TimeUnit;
+
+// Token generation and verification without a Spring context. parseToken is measured both as a
+// cache hit and with the verified-token cache emptied before each call (full signature check).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private Cache<?, ?> verifiedTokens;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "TMS2024SecretKeyForJWTTokenGenerationAndValidationPurposeOnly");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaximumSize", 10000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        verifiedTokens = (Cache<?, ?>) ReflectionTestUtils.getField(jwtUtil, "verifiedTokens");
+        token = jwtUtil.generateToken("admin", "ADMIN");
+    }
+
+    @State(Scope.Thread)
+    public static class EmptyCache {
+
+        @Setup(Level.Invocation)
+        public void invalidate(JwtUtilBenchmark benchmark) {
+            benchmark.verifiedTokens.invalidateAll();
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("admin", "ADMIN");
+    }
+
+    @Benchmark
+    public Claims parseTokenCached() {
+        return jwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public Claims parseTokenUncached(EmptyCache emptyCache) {
+        return jwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, "admin");
+    }
+}
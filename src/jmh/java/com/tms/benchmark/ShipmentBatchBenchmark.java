@@ -0,0 +1,90 @@
+package com.tms.benchmark;
+
+import com.tms.dto.ShipmentBatchResult;
+import com.tms.dto.ShipmentInput;
+import com.tms.service.ShipmentBatchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Bulk load through ShipmentBatchService.createShipments, ROWS new shipments per call (one chunk),
+// with JDBC insert batching off (batchSize=1) and at the application default (50). Scored per
+// inserted row, so the reciprocal is the insert throughput. The rows written are deleted again
+// after each trial, leaving the seeded database as it was for the other benchmarks.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ShipmentBatchBenchmark {
+
+    private static final int ROWS = 500;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private ShipmentBatchService shipmentBatchService;
+    private JdbcTemplate jdbcTemplate;
+    private long next;
+    private List<ShipmentInput> inputs;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start(
+            "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+            "--batch.chunk-size=" + ROWS
+        );
+        shipmentBatchService = context.getBean(ShipmentBatchService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    // Fresh shipment numbers every call, so none is skipped as already existing
+    @Setup(Level.Invocation)
+    public void nextInputs() {
+        inputs = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++, next++) {
+            inputs.add(ShipmentInput.builder()
+                .shipmentNumber("JMH-" + batchSize + "-" + next)
+                .shipperName("Shipper " + next % 5000)
+                .carrierName("Carrier " + next % 200)
+                .pickupLocation("City " + next % 1000)
+                .pickupDate(LocalDate.of(2024, 6, 1))
+                .deliveryLocation("City " + next * 7 % 1000)
+                .deliveryDate(LocalDate.of(2024, 6, 4))
+                .weight(next % 2000 + 0.5)
+                .rate(next * 13 % 1000 + 0.25)
+                .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        jdbcTemplate.update("DELETE FROM shipments WHERE shipment_number LIKE 'JMH-%'");
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ShipmentBatchResult createShipments() {
+        return shipmentBatchService.createShipments(inputs);
+    }
+}
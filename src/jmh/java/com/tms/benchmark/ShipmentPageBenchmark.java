@@ -0,0 +1,54 @@
+package com.tms.benchmark;
+
+import com.tms.dto.ShipmentPage;
+import com.tms.model.Shipment;
+import com.tms.model.ShipmentStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShipmentPageBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private Page<Shipment> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Shipment> content = LongStream.rangeClosed(1, pageSize)
+            .mapToObj(id -> Shipment.builder()
+                .id(id)
+                .shipmentNumber("BM-" + id)
+                .status(ShipmentStatus.IN_TRANSIT)
+                .build())
+            .toList();
+        page = new PageImpl<>(content, PageRequest.of(3, pageSize), 1_000_000);
+    }
+
+    @Benchmark
+    public ShipmentPage from() {
+        return ShipmentPage.from(page);
+    }
+}
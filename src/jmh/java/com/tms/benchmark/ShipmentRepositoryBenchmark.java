@@ -0,0 +1,62 @@
+package com.tms.benchmark;
+
+import com.tms.model.Shipment;
+import com.tms.repository.ShipmentRepository;
+import com.tms.repository.ShipmentSpecifications;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.concurrent.TimeUnit;
+
+// The filtered repository query on its own (no cache, no search index narrowing): the
+// Specification built from each filter shape, first page of 20 plus the COUNT query
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ShipmentRepositoryBenchmark {
+
+    @Param({"none", "status", "shipperSubstring", "rateRange", "combined"})
+    private String filterShape;
+
+    private ConfigurableApplicationContext context;
+    private ShipmentRepository shipmentRepository;
+    private Specification<Shipment> spec;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start();
+        shipmentRepository = context.getBean(ShipmentRepository.class);
+        spec = ShipmentSpecifications.matching(BenchmarkContext.filter(filterShape));
+        pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Shipment> findAllMatching() {
+        return shipmentRepository.findAll(spec, pageable);
+    }
+}
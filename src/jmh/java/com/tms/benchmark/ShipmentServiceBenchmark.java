@@ -0,0 +1,77 @@
+package com.tms.benchmark;
+
+import com.tms.config.CacheConfig;
+import com.tms.dto.PageInput;
+import com.tms.dto.ShipmentFilter;
+import com.tms.model.Shipment;
+import com.tms.service.ShipmentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import java.util.concurrent.TimeUnit;
+
+// ShipmentService.findShipments across filter shapes and page depths (20 rows per page), with the
+// query cache cleared before every call (cached=false) or left warm (cached=true)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ShipmentServiceBenchmark {
+
+    @Param({"none", "status", "shipperSubstring", "rateRange", "combined"})
+    private String filterShape;
+
+    @Param({"0", "50", "5000"})
+    private int page;
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    private ConfigurableApplicationContext context;
+    private ShipmentService shipmentService;
+    private Cache queryCache;
+    private ShipmentFilter filter;
+    private PageInput pageInput;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start();
+        shipmentService = context.getBean(ShipmentService.class);
+        queryCache = context.getBean(CacheManager.class).getCache(CacheConfig.SHIPMENTS_CACHE);
+        filter = BenchmarkContext.filter(filterShape);
+        pageInput = new PageInput(page, 20);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCache() {
+        if (!cached) {
+            queryCache.clear();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Shipment> findShipments() {
+        return shipmentService.findShipments(filter, pageInput, "createdAt", "DESC", null);
+    }
+}
@@ -0,0 +1,622 @@
+-- 1M synthetic shipments for the JMH benchmarks, on top of data.sql (ids 1-15), linked to 200
+-- carriers and 5000 shippers (ids from 1001) that carry the contact details. Inserted in
+-- 50k-row statements: H2 commits one huge transaction far more slowly than several smaller ones.
+
+INSERT INTO carriers (id, name, contact)
+SELECT
+    X + 1001,
+    'Carrier ' || X,
+    'dispatch' || X || '@carrier.example.com'
+FROM SYSTEM_RANGE(0, 199);
+
+INSERT INTO shippers (id, name, email, phone)
+SELECT
+    X + 1001,
+    'Shipper ' || X,
+    'shipping' || X || '@shipper.example.com',
+    '+1-555-' || LPAD(CAST(X AS VARCHAR), 4, '0')
+FROM SYSTEM_RANGE(0, 4999);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(1, 50000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(50001, 100000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(100001, 150000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(150001, 200000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(200001, 250000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(250001, 300000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(300001, 350000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(350001, 400000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(400001, 450000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(450001, 500000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(500001, 550000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(550001, 600000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(600001, 650000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(650001, 700000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(700001, 750000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(750001, 800000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(800001, 850000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(850001, 900000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(900001, 950000);
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, rate, currency, flagged, created_at, updated_at)
+SELECT
+    X + 1000,
+    'BM-' || LPAD(CAST(X AS VARCHAR), 7, '0'),
+    'Shipper ' || MOD(X, 5000),
+    MOD(X, 5000) + 1001,
+    'Carrier ' || MOD(X, 200),
+    MOD(X, 200) + 1001,
+    'City ' || MOD(X, 1000),
+    DATEADD('DAY', -MOD(X, 730), DATE '2024-06-01'),
+    'City ' || MOD(X * 7, 1000),
+    DATEADD('DAY', MOD(X, 10) - MOD(X, 730), DATE '2024-06-01'),
+    'TRK' || X,
+    CASE MOD(X, 7)
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'PICKED_UP'
+        WHEN 2 THEN 'IN_TRANSIT'
+        WHEN 3 THEN 'OUT_FOR_DELIVERY'
+        WHEN 4 THEN 'DELIVERED'
+        WHEN 5 THEN 'CANCELLED'
+        ELSE 'DELAYED'
+    END,
+    MOD(X, 2000) + 0.5,
+    MOD(X * 13, 1000) + 0.25,
+    'USD',
+    MOD(X, 10) = 0,
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00'),
+    DATEADD('MINUTE', -X, TIMESTAMP '2024-06-01 00:00:00')
+FROM SYSTEM_RANGE(950001, 1000000);
+
+ALTER SEQUENCE shipment_seq RESTART WITH 1001050;
+ALTER SEQUENCE carrier_seq RESTART WITH 1250;
+ALTER SEQUENCE shipper_seq RESTART WITH 6050;
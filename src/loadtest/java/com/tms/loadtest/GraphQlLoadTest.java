@@ -0,0 +1,356 @@
+package com.tms.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-loop load generator for a running instance's /graphql endpoint. Requests are issued at a
+// fixed rate on virtual threads, each with an intended start time on the schedule. Response time
+// is measured from that intended start, so a stalled server shows up in the percentiles instead of
+// silently lowering the offered load (coordinated omission). Service time, measured from the
+// actual send, is recorded alongside for comparison.
+//
+// mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--rate 200 --duration 60"
+public class GraphQlLoadTest {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private static final String SHIPMENTS_QUERY = """
+        query($page: Int!, $status: ShipmentStatus) {
+          shipments(filter: {status: $status}, page: {page: $page, size: 20}, sortBy: "createdAt", sortDirection: DESC) {
+            content { id shipmentNumber status carrierName rate }
+            totalElements
+          }
+        }""";
+
+    private static final String SHIPMENT_QUERY = """
+        query($id: ID!) {
+          shipment(id: $id) { id shipmentNumber shipperName carrierName status rate updatedAt }
+        }""";
+
+    private static final String CREATE_MUTATION = """
+        mutation($input: ShipmentInput!) {
+          createShipment(input: $input) { id shipmentNumber status }
+        }""";
+
+    private static final String LOGIN_MUTATION = """
+        mutation($username: String!, $password: String!) {
+          login(username: $username, password: $password) { token }
+        }""";
+
+    private static final String[] STATUSES = {null, "PENDING", "IN_TRANSIT", "DELIVERED"};
+
+    enum Operation {
+        SHIPMENTS, SHIPMENT, CREATE
+    }
+
+    private final Options options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // HTTP/1.1 pinned: the default h2c upgrade attempt on plain http stalls against Tomcat
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+    private final Map<Operation, Recorder> responseTimes = new EnumMap<>(Operation.class);
+    private final Map<Operation, Recorder> serviceTimes = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> responseTotals = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> serviceTotals = new EnumMap<>(Operation.class);
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private String token;
+    private List<String> shipmentIds;
+    private long measureStart;
+
+    GraphQlLoadTest(Options options) {
+        this.options = options;
+        for (Operation operation : Operation.values()) {
+            responseTimes.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            serviceTimes.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            responseTotals.put(operation, new Histogram(HIGHEST_TRACKABLE_MICROS, 3));
+            serviceTotals.put(operation, new Histogram(HIGHEST_TRACKABLE_MICROS, 3));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new GraphQlLoadTest(Options.parse(args)).run();
+    }
+
+    void run() throws Exception {
+        token = execute(LOGIN_MUTATION, Map.of("username", options.username(), "password", options.password()))
+            .path("data").path("login").path("token").asText();
+        shipmentIds = new ArrayList<>();
+        execute(SHIPMENTS_QUERY, Map.of("page", 0)).path("data").path("shipments").path("content")
+            .forEach(node -> shipmentIds.add(node.path("id").asText()));
+        if (shipmentIds.isEmpty()) {
+            throw new IllegalStateException("No shipments to read; seed the target instance first");
+        }
+
+        Files.createDirectories(options.output());
+        System.out.printf("Target %s, %d req/s for %ds after %ds warmup, mix %s, max in flight %d%n",
+            options.url(), options.rate(), options.duration(), options.warmup(), options.mix(), options.maxInFlight());
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long totalRequests = (long) options.rate() * (options.warmup() + options.duration());
+        long warmupRequests = (long) options.rate() * options.warmup();
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             PrintStream hlog = new PrintStream(Files.newOutputStream(options.output().resolve("response-time.hlog")))) {
+            HistogramLogWriter logWriter = new HistogramLogWriter(hlog);
+            logWriter.outputLogFormatVersion();
+            logWriter.outputLegend();
+
+            long start = System.nanoTime();
+            long nextReport = start + TimeUnit.SECONDS.toNanos(1);
+            measureStart = start;
+            for (long i = 0; i < totalRequests; i++) {
+                long intended = start + i * intervalNanos;
+                long now;
+                while ((now = System.nanoTime()) < intended) {
+                    LockSupport.parkNanos(intended - now);
+                }
+                if (i == warmupRequests && i > 0) {
+                    resetAll();
+                    measureStart = now;
+                }
+                if (now >= nextReport) {
+                    report(logWriter, (now - start) / 1_000_000_000.0, i >= warmupRequests);
+                    nextReport += TimeUnit.SECONDS.toNanos(1);
+                }
+
+                Operation operation = options.pick();
+                inFlight.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        send(operation, intended);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+
+        // Measured window ends when the last response arrives, so a backlog lowers the reported rate
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - measureStart));
+        collectAll();
+        summarize(elapsedMillis);
+    }
+
+    private void send(Operation operation, long intendedStart) {
+        long actualStart = System.nanoTime();
+        boolean ok;
+        try {
+            JsonNode response = switch (operation) {
+                case SHIPMENTS -> execute(SHIPMENTS_QUERY, variables(
+                    "page", ThreadLocalRandom.current().nextInt(10),
+                    "status", STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)]));
+                case SHIPMENT -> execute(SHIPMENT_QUERY, Map.of(
+                    "id", shipmentIds.get(ThreadLocalRandom.current().nextInt(shipmentIds.size()))));
+                case CREATE -> execute(CREATE_MUTATION, Map.of("input", Map.of(
+                    "shipmentNumber", "LT-" + runId + "-" + created.incrementAndGet(),
+                    "shipperName", "Load Test Shipper",
+                    "carrierName", "Load Test Carrier",
+                    "pickupLocation", "Origin",
+                    "deliveryLocation", "Destination",
+                    "rate", 100.0)));
+            };
+            ok = !response.has("errors");
+        } catch (IOException | InterruptedException e) {
+            ok = false;
+        }
+        long end = System.nanoTime();
+
+        responseTimes.get(operation).recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (end - intendedStart) / 1000));
+        serviceTimes.get(operation).recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (end - actualStart) / 1000));
+        if (!ok) {
+            errors.incrementAndGet();
+        }
+    }
+
+    private JsonNode execute(String query, Map<String, Object> variables) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(options.url()))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(
+                objectMapper.writeValueAsBytes(Map.of("query", query, "variables", variables))));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    // One line per second, and the response-time interval histogram appended to the .hlog file
+    private void report(HistogramLogWriter logWriter, double elapsedSeconds, boolean measuring) {
+        Histogram interval = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        for (Operation operation : Operation.values()) {
+            Histogram response = responseTimes.get(operation).getIntervalHistogram();
+            responseTotals.get(operation).add(response);
+            interval.add(response);
+            serviceTotals.get(operation).add(serviceTimes.get(operation).getIntervalHistogram());
+        }
+        if (measuring) {
+            logWriter.outputIntervalHistogram(interval);
+        }
+        System.out.printf("%6.1fs %s %7d req  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms  errors %d%n",
+            elapsedSeconds, measuring ? "run   " : "warmup", interval.getTotalCount(),
+            millis(interval.getValueAtPercentile(50)), millis(interval.getValueAtPercentile(99)),
+            millis(interval.getMaxValue()), errors.get());
+    }
+
+    private void resetAll() {
+        collectAll();
+        responseTotals.values().forEach(Histogram::reset);
+        serviceTotals.values().forEach(Histogram::reset);
+        errors.set(0);
+    }
+
+    private void collectAll() {
+        for (Operation operation : Operation.values()) {
+            responseTotals.get(operation).add(responseTimes.get(operation).getIntervalHistogram());
+            serviceTotals.get(operation).add(serviceTimes.get(operation).getIntervalHistogram());
+        }
+    }
+
+    private void summarize(long elapsedMillis) throws IOException {
+        Histogram allResponse = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        Histogram allService = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        System.out.println();
+        System.out.printf("%-10s %-8s %9s %10s %10s %10s %10s %10s%n",
+            "operation", "latency", "count", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "req/s");
+        for (Operation operation : Operation.values()) {
+            Histogram response = responseTotals.get(operation);
+            Histogram service = serviceTotals.get(operation);
+            allResponse.add(response);
+            allService.add(service);
+            printRow(operation.name(), "response", response, elapsedMillis);
+            printRow(operation.name(), "service", service, elapsedMillis);
+            writeDistribution(operation.name().toLowerCase() + "-response.hgrm", response);
+            writeDistribution(operation.name().toLowerCase() + "-service.hgrm", service);
+        }
+        printRow("ALL", "response", allResponse, elapsedMillis);
+        printRow("ALL", "service", allService, elapsedMillis);
+        writeDistribution("all-response.hgrm", allResponse);
+        writeDistribution("all-service.hgrm", allService);
+        System.out.printf("errors %d, histograms written to %s%n", errors.get(), options.output().toAbsolutePath());
+    }
+
+    private void printRow(String operation, String kind, Histogram histogram, long elapsedMillis) {
+        System.out.printf("%-10s %-8s %9d %10.2f %10.2f %10.2f %10.2f %10.1f%n",
+            operation, kind, histogram.getTotalCount(),
+            millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+            millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()),
+            histogram.getTotalCount() * 1000.0 / elapsedMillis);
+    }
+
+    // Percentile distribution in milliseconds, plottable with HdrHistogram's plotFiles.html
+    private void writeDistribution(String fileName, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(options.output().resolve(fileName)))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static Map<String, Object> variables(Object... keyValues) {
+        Map<String, Object> variables = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            variables.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return variables;
+    }
+
+    record Options(String url, String username, String password, int rate, int duration, int warmup,
+                   int maxInFlight, Map<Operation, Integer> mix, Path output) {
+
+        // --key value or --key=value; mix is operation=weight pairs, e.g. shipments=70,shipment=25,create=5
+        static Options parse(String[] args) {
+            Map<String, String> values = new LinkedHashMap<>(Map.of(
+                "url", "http://localhost:8080/graphql",
+                "username", "admin",
+                "password", "admin123",
+                "rate", "100",
+                "duration", "30",
+                "warmup", "10",
+                "max-in-flight", "1000",
+                "mix", "shipments=70,shipment=25,create=5",
+                "output", "target/loadtest/results"));
+            for (int i = 0; i < args.length; i++) {
+                if (!args[i].startsWith("--")) {
+                    throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+                }
+                String key = args[i].substring(2);
+                int equals = key.indexOf('=');
+                if (equals >= 0) {
+                    values.put(key.substring(0, equals), key.substring(equals + 1));
+                } else if (i + 1 < args.length) {
+                    values.put(key, args[++i]);
+                } else {
+                    throw new IllegalArgumentException("Missing value for --" + key);
+                }
+            }
+
+            Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+            for (String entry : values.get("mix").split(",")) {
+                String[] parts = entry.split("=");
+                mix.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+            }
+            if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+                throw new IllegalArgumentException("Operation mix needs a positive total weight");
+            }
+
+            return new Options(
+                values.get("url"),
+                values.get("username"),
+                values.get("password"),
+                Integer.parseInt(values.get("rate")),
+                Integer.parseInt(values.get("duration")),
+                Integer.parseInt(values.get("warmup")),
+                Integer.parseInt(values.get("max-in-flight")),
+                mix,
+                Path.of(values.get("output")));
+        }
+
+        Operation pick() {
+            int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+            int roll = ThreadLocalRandom.current().nextInt(total);
+            for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+                roll -= entry.getValue();
+                if (roll < 0) {
+                    return entry.getKey();
+                }
+            }
+            throw new IllegalStateException("Unreachable");
+        }
+    }
+}
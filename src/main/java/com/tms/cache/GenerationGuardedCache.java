@@ -0,0 +1,128 @@
+package com.tms.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tms.datasource.ReadWriteRoutingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.caffeine.CaffeineCache;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+// Caffeine cache that will not store a value loaded across an invalidation. Each miss records the
+// cache generation on the calling thread (the thread that then loads and puts the value); every
+// eviction bumps the generation before removing entries, and a put for the missed key is dropped
+// if the generation moved in between. Without this, a reader that loaded the pre-commit rows
+// before a write's eviction could put them back afterwards, to be served until the TTL. Any
+// invalidation drops in-flight loads for all keys, not only the affected ones; they are simply
+// loaded again on the next miss.
+//
+// With a replica lag window, a value loaded from the read replica is also refused while its key
+// (or, after a clear / filtered eviction, the whole cache) was invalidated less than the window
+// ago: the replica may not have the write yet, and the stale rows would otherwise be cached for
+// the whole TTL. The read itself still runs on the replica; only the refill waits out the lag.
+@Slf4j
+public class GenerationGuardedCache extends CaffeineCache {
+
+    private record Miss(Object key, long generation, long replicaConnections) {
+    }
+
+    private final AtomicLong generation = new AtomicLong();
+    private final ThreadLocal<Miss> lastMiss = new ThreadLocal<>();
+    private final long replicaLagNanos;
+    // Keys evicted within the lag window, and the end of the window after the last cache-wide invalidation
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Boolean> recentlyEvicted;
+    private volatile long replicaUnsafeUntil = System.nanoTime();
+
+    public GenerationGuardedCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        this(name, cache, Duration.ZERO);
+    }
+
+    public GenerationGuardedCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                  Duration replicaLagWindow) {
+        super(name, cache);
+        this.replicaLagNanos = replicaLagWindow.toNanos();
+        this.recentlyEvicted = replicaLagNanos > 0
+            ? Caffeine.newBuilder().expireAfterWrite(replicaLagWindow).build()
+            : null;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value == null) {
+            lastMiss.set(new Miss(key, generation.get(), ReadWriteRoutingDataSource.replicaConnections()));
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Miss miss = lastMiss.get();
+        lastMiss.remove();
+        if (miss != null && Objects.equals(miss.key(), key)) {
+            if (miss.generation() != generation.get()) {
+                log.debug("Not caching {} in {}: invalidated while it was loaded", key, getName());
+                return;
+            }
+            if (miss.replicaConnections() != ReadWriteRoutingDataSource.replicaConnections() && replicaMayLag(key)) {
+                log.debug("Not caching {} in {}: read from the replica right after an invalidation", key, getName());
+                return;
+            }
+        }
+        store(key, value);
+    }
+
+    protected void store(Object key, Object value) {
+        super.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidated(key);
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        invalidated(key);
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        invalidatedAll();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        invalidatedAll();
+        return super.invalidate();
+    }
+
+    // Scans every cached key (up to the cache's maximum size) on each call
+    public void evictIf(Predicate<Object> keyFilter) {
+        invalidatedAll();
+        getNativeCache().asMap().keySet().removeIf(keyFilter);
+    }
+
+    private void invalidated(Object key) {
+        generation.incrementAndGet();
+        if (recentlyEvicted != null) {
+            recentlyEvicted.put(key, Boolean.TRUE);
+        }
+    }
+
+    private void invalidatedAll() {
+        generation.incrementAndGet();
+        if (replicaLagNanos > 0) {
+            replicaUnsafeUntil = System.nanoTime() + replicaLagNanos;
+        }
+    }
+
+    private boolean replicaMayLag(Object key) {
+        return replicaLagNanos > 0
+            && (replicaUnsafeUntil - System.nanoTime() > 0 || recentlyEvicted.getIfPresent(key) != null);
+    }
+}
@@ -0,0 +1,53 @@
+package com.tms.cache;
+
+import com.tms.config.CacheConfig;
+import com.tms.event.ShipmentChangedEvent;
+import com.tms.model.Shipment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShipmentCacheInvalidator {
+    
+    private final CacheManager cacheManager;
+    
+    // Drops only the cached queries whose filter matches one of the changed shipments' old/new states.
+    // Runs after commit, so readers from then on load the committed rows; a reader that loaded
+    // before the commit and puts afterwards is refused by GenerationGuardedCache. Checks every
+    // cached query (up to cache.shipments.maximum-size keys) on each write.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentChanged(ShipmentChangedEvent event) {
+        evict(event.getStates());
+    }
+    
+    public void evictEntities(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.SHIPMENT_CACHE);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+    
+    private void evict(List<Shipment> states) {
+        Cache cache = cacheManager.getCache(CacheConfig.SHIPMENTS_CACHE);
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        if (!(cache instanceof GenerationGuardedCache guarded) || states.isEmpty()) {
+            return;
+        }
+        
+        long sizeBefore = guarded.getNativeCache().estimatedSize();
+        guarded.evictIf(key -> !(key instanceof ShipmentQueryKey queryKey)
+            || states.stream().anyMatch(queryKey::isAffectedBy));
+        log.debug("Evicted {} of {} cached shipment queries", sizeBefore - guarded.getNativeCache().estimatedSize(), sizeBefore);
+    }
+}
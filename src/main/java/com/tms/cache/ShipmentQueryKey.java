@@ -0,0 +1,21 @@
+package com.tms.cache;
+
+import com.tms.dto.PageInput;
+import com.tms.dto.ShipmentFilter;
+import com.tms.model.Shipment;
+import lombok.Value;
+import java.util.Set;
+
+@Value
+public class ShipmentQueryKey {
+    ShipmentFilter filter;
+    PageInput page;
+    String sortBy;
+    String sortDirection;
+    Set<String> fields;
+    
+    // A cached page can only change if the shipment matched its filter before or after the write
+    public boolean isAffectedBy(Shipment state) {
+        return filter == null || filter.matches(state);
+    }
+}
@@ -0,0 +1,34 @@
+package com.tms.cache;
+
+import com.tms.config.CacheConfig;
+import com.tms.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+// JPA entity listener on User, so every change made through JPA drops the cached lookups.
+// The whole cache is cleared rather than one key, as a renamed user would otherwise stay cached
+// under the old name; users change rarely. The transaction-aware cache defers the clear to commit.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserCacheInvalidator {
+    
+    private final CacheManager cacheManager;
+    
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        if (cache != null) {
+            log.debug("User {} changed; clearing cached user lookups", user.getUsername());
+            cache.clear();
+        }
+    }
+}
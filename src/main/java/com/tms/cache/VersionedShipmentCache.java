@@ -0,0 +1,35 @@
+package com.tms.cache;
+
+import com.tms.model.Shipment;
+import lombok.extern.slf4j.Slf4j;
+import java.time.Duration;
+
+// Shipment cache whose puts never replace a newer version with an older one. Write-through puts
+// run after their transaction commits, so two writers of the same shipment (or a reader that
+// loaded it just before a write) can put in the opposite order to their commits; the version
+// comparison happens inside the map's merge, so the entry always ends at the highest version put.
+@Slf4j
+public class VersionedShipmentCache extends GenerationGuardedCache {
+
+    public VersionedShipmentCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                  Duration replicaLagWindow) {
+        super(name, cache, replicaLagWindow);
+    }
+
+    @Override
+    protected void store(Object key, Object value) {
+        getNativeCache().asMap().merge(key, toStoreValue(value), (cached, put) -> {
+            if (olderThan(put, cached)) {
+                log.debug("Not caching {} in {}: a newer version is already cached", key, getName());
+                return cached;
+            }
+            return put;
+        });
+    }
+
+    private static boolean olderThan(Object value, Object other) {
+        return value instanceof Shipment shipment && other instanceof Shipment cached
+            && shipment.getVersion() != null && cached.getVersion() != null
+            && shipment.getVersion() < cached.getVersion();
+    }
+}
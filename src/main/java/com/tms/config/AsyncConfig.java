@@ -0,0 +1,38 @@
+package com.tms.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class AsyncConfig {
+    
+    // Applied by Boot to the application task executor that runs Callable-returning resolvers.
+    // Carries the caller's SecurityContext across and records how long tasks waited for a slot.
+    @Bean
+    public TaskDecorator resolverTaskDecorator(MeterRegistry meterRegistry) {
+        Timer queueTimer = Timer.builder("graphql.resolver.queue")
+                .description("Time resolver tasks wait for an execution slot")
+                .register(meterRegistry);
+        AtomicInteger active = meterRegistry.gauge("graphql.resolver.active", new AtomicInteger());
+        
+        return task -> {
+            long submitted = System.nanoTime();
+            Runnable withSecurityContext = new DelegatingSecurityContextRunnable(task);
+            return () -> {
+                queueTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                active.incrementAndGet();
+                try {
+                    withSecurityContext.run();
+                } finally {
+                    active.decrementAndGet();
+                }
+            };
+        };
+    }
+}
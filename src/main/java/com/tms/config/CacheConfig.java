@@ -0,0 +1,100 @@
+package com.tms.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tms.cache.GenerationGuardedCache;
+import com.tms.cache.ShipmentQueryKey;
+import com.tms.cache.VersionedShipmentCache;
+import com.tms.dto.PageInput;
+import com.tms.dto.ShipmentFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+
+@Configuration
+public class CacheConfig {
+    
+    public static final String SHIPMENTS_CACHE = "shipments";
+    public static final String SHIPMENT_CACHE = "shipment";
+    public static final String USERS_CACHE = "users";
+    
+    @Value("${cache.shipments.maximum-size}")
+    private Long shipmentsMaximumSize;
+    
+    @Value("${cache.shipments.expire-after-write}")
+    private Duration shipmentsExpireAfterWrite;
+    
+    @Value("${cache.shipment.maximum-size}")
+    private Long shipmentMaximumSize;
+    
+    @Value("${cache.shipment.expire-after-write}")
+    private Duration shipmentExpireAfterWrite;
+    
+    @Value("${cache.users.maximum-size}")
+    private Long usersMaximumSize;
+    
+    @Value("${cache.users.expire-after-write}")
+    private Duration usersExpireAfterWrite;
+    
+    @Value("${datasource.replica.enabled}")
+    private boolean replicaEnabled;
+    
+    @Value("${datasource.replica.max-lag}")
+    private Duration replicaMaxLag;
+    
+    @Value("${datasource.replica.lag-check-interval}")
+    private Duration replicaLagCheckInterval;
+    
+    @Bean
+    public CacheManager cacheManager() {
+        // Every cache refuses values loaded across an invalidation, and replica reads until the
+        // replica has caught up with it (see GenerationGuardedCache). The replica was within max-lag
+        // at its last check, which may be up to one interval old. The shipment cache also keeps the
+        // newest version when puts arrive out of commit order (see VersionedShipmentCache).
+        Duration replicaLagWindow = replicaEnabled ? replicaMaxLag.plus(replicaLagCheckInterval) : Duration.ZERO;
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return SHIPMENT_CACHE.equals(name)
+                        ? new VersionedShipmentCache(name, cache, replicaLagWindow)
+                        : new GenerationGuardedCache(name, cache, replicaLagWindow);
+            }
+        };
+        cacheManager.registerCustomCache(SHIPMENTS_CACHE, Caffeine.newBuilder()
+                .maximumSize(shipmentsMaximumSize)
+                .expireAfterWrite(shipmentsExpireAfterWrite)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(SHIPMENT_CACHE, Caffeine.newBuilder()
+                .maximumSize(shipmentMaximumSize)
+                .expireAfterWrite(shipmentExpireAfterWrite)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(USERS_CACHE, Caffeine.newBuilder()
+                .maximumSize(usersMaximumSize)
+                .expireAfterWrite(usersExpireAfterWrite)
+                .recordStats()
+                .build());
+        // Defers @CachePut/@CacheEvict until the surrounding transaction commits
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+    
+    @Bean
+    @SuppressWarnings("unchecked")
+    public KeyGenerator shipmentQueryKeyGenerator() {
+        return (target, method, params) -> new ShipmentQueryKey(
+                (ShipmentFilter) params[0],
+                (PageInput) params[1],
+                (String) params[2],
+                (String) params[3],
+                params[4] != null ? Set.copyOf((Collection<String>) params[4]) : null
+        );
+    }
+}
@@ -0,0 +1,33 @@
+package com.tms.config;
+
+import com.tms.graphql.DateScalar;
+import com.tms.graphql.LongScalar;
+import com.tms.graphql.PersistedQueryDocumentProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.RuntimeWiringConfigurer;
+
+@Configuration
+public class GraphQlConfig {
+    
+    @Value("${graphql.persisted-queries.enabled}")
+    private boolean persistedQueriesEnabled;
+    
+    // Parsed and validated documents are served from the persisted query cache instead of
+    // re-parsing the same operation text on every request
+    @Bean
+    public GraphQlSourceBuilderCustomizer persistedQueryCustomizer(PersistedQueryDocumentProvider documentProvider) {
+        return builder -> builder.configureGraphQl(graphQl -> {
+            if (persistedQueriesEnabled) {
+                graphQl.preparsedDocumentProvider(documentProvider);
+            }
+        });
+    }
+    
+    @Bean
+    public RuntimeWiringConfigurer scalarWiringConfigurer() {
+        return wiring -> wiring.scalar(DateScalar.DATE).scalar(LongScalar.LONG);
+    }
+}
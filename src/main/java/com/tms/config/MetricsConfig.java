@@ -0,0 +1,29 @@
+package com.tms.config;
+
+import com.tms.metrics.SqlStatementCounter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Value("${metrics.graphql.max-field-tags}")
+    private int maxFieldTags;
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        SqlStatementCounter counter = new SqlStatementCounter();
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+
+    // Root field combinations are bounded by the schema but not small; past the cap, new
+    // combinations are dropped rather than growing the registry
+    @Bean
+    public MeterFilter graphQlFieldTagLimit() {
+        return MeterFilter.maximumAllowableTags("graphql.operation", "fields", maxFieldTags, MeterFilter.deny());
+    }
+}
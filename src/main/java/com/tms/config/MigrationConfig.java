@@ -0,0 +1,17 @@
+package com.tms.config;
+
+import com.tms.migration.PartySequenceMigration;
+import com.tms.migration.ShipmentDateMigration;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MigrationConfig {
+    
+    // Schema migrations must finish before Hibernate validates or updates the schema
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor shipmentMigrationDependsOn() {
+        return new EntityManagerFactoryDependsOnPostProcessor(ShipmentDateMigration.class, PartySequenceMigration.class);
+    }
+}
@@ -0,0 +1,43 @@
+package com.tms.controller;
+
+import com.tms.dto.ExportFormat;
+import com.tms.dto.ShipmentFilter;
+import com.tms.service.ShipmentExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/shipments")
+@RequiredArgsConstructor
+@Slf4j
+public class ShipmentExportController {
+
+    private final ShipmentExportService shipmentExportService;
+
+    // Filter fields are plain query parameters, e.g. /api/shipments/export?format=NDJSON&status=IN_TRANSIT.
+    // Rows are written straight to the response while the cursor is read, on the request thread
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public void exportShipments(ShipmentFilter filter,
+                                @RequestParam(defaultValue = "CSV") ExportFormat format,
+                                HttpServletResponse response) throws IOException {
+        log.info("REST: export shipments as {} with filter: {}", format, filter);
+
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("shipments." + format.getExtension())
+            .build()
+            .toString());
+        shipmentExportService.exportShipments(filter, format, response.getOutputStream());
+    }
+}
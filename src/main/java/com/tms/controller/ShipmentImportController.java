@@ -0,0 +1,44 @@
+package com.tms.controller;
+
+import com.tms.dto.ShipmentImportResult;
+import com.tms.service.ShipmentImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/shipments/import")
+@RequiredArgsConstructor
+@Slf4j
+public class ShipmentImportController {
+
+    private final ShipmentImportService shipmentImportService;
+
+    // The CSV file is the raw request body and is read as it arrives. A FAILED import is resumed by
+    // posting the same file again with its importId.
+    @PostMapping(consumes = {"text/csv", "text/plain", "application/octet-stream"})
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<ShipmentImportResult> importShipments(InputStream body,
+                                                                @RequestParam(required = false) String fileName,
+                                                                @RequestParam(required = false) Long importId) {
+        log.info("REST: import shipments from {} (importId: {})", fileName, importId);
+        ShipmentImportResult result = shipmentImportService.importShipments(body, fileName, importId);
+        return ResponseEntity.status(importId == null ? HttpStatus.CREATED : HttpStatus.OK).body(result);
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public ShipmentImportResult getImport(@PathVariable Long id) {
+        log.info("REST: get import {}", id);
+        return shipmentImportService.getImport(id);
+    }
+}
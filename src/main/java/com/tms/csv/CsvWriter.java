@@ -0,0 +1,51 @@
+package com.tms.csv;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// RFC 4180: fields containing a delimiter, quote or line break are quoted, embedded quotes doubled
+public final class CsvWriter {
+
+    // A leading =, +, -, @, tab or carriage return makes spreadsheets evaluate the cell as a
+    // formula. Such fields get a ' in front, which spreadsheets show as text; fields already
+    // starting with ' before one of those characters get another, so CsvReader.restoreFormula can
+    // undo it exactly. Numbers and phone numbers (+1-555-0101, -12.5) are left as they are: digits
+    // and separators alone cannot call a function or reference a cell.
+    private static final Pattern FORMULA = Pattern.compile("'*[=+\\-@\t\r].*", Pattern.DOTALL);
+    private static final Pattern NUMBER = Pattern.compile("'*[+-]?\\(?[0-9][0-9 ().\\-/]*");
+
+    private CsvWriter() {
+    }
+
+    public static void writeRecord(Writer writer, List<String> values) throws IOException {
+        writeRecord(writer, values, false);
+    }
+
+    public static void writeRecord(Writer writer, List<String> values, boolean escapeFormulas) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = escapeFormulas ? escapeFormula(values.get(i)) : values.get(i);
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    public static String escapeFormula(String value) {
+        return isFormula(value) ? "'" + value : value;
+    }
+
+    // Leading 's are ignored, so a value and the same value with one more ' in front agree
+    static boolean isFormula(String value) {
+        return FORMULA.matcher(value).matches() && !NUMBER.matcher(value).matches();
+    }
+}
@@ -0,0 +1,80 @@
+package com.tms.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Hands out replica connections inside read-only transactions while the replica is healthy and
+// primary connections otherwise. The read-only flag is only set once the transaction has begun,
+// so this must sit behind a LazyConnectionDataSourceProxy that fetches the real connection at
+// the first statement. A replica that fails to hand out a connection is taken out of rotation
+// and the request is served by the primary.
+//
+// Replica connections are counted per thread (see replicaConnections), so the caches can refuse
+// to store a value read from the replica right after its key was invalidated.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Map<Route, Counter> routed = new EnumMap<>(Route.class);
+
+    private static final ThreadLocal<long[]> REPLICA_CONNECTIONS = ThreadLocal.withInitial(() -> new long[1]);
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicaLagMonitor = replicaLagMonitor;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        for (Route route : Route.values()) {
+            routed.put(route, Counter.builder("datasource.connections.routed")
+                    .description("Physical connections handed out per route")
+                    .tag("route", route.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // Also true in a read-only SUPPORTS scope, which marks work as read-only without a transaction
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaLagMonitor.isAvailable()
+            ? Route.REPLICA
+            : Route.PRIMARY;
+    }
+
+    // Replica connections handed out on the calling thread so far; a change across a call means
+    // the call read from the replica
+    public static long replicaConnections() {
+        return REPLICA_CONNECTIONS.get()[0];
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Route route = (Route) determineCurrentLookupKey();
+        if (route == Route.REPLICA) {
+            try {
+                Connection connection = getResolvedDataSources().get(Route.REPLICA).getConnection();
+                routed.get(Route.REPLICA).increment();
+                REPLICA_CONNECTIONS.get()[0]++;
+                return connection;
+            } catch (SQLException e) {
+                replicaLagMonitor.markUnavailable(e);
+            }
+        }
+        routed.get(Route.PRIMARY).increment();
+        return primary.getConnection();
+    }
+}
@@ -0,0 +1,67 @@
+package com.tms.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Decides whether the replica may serve reads. Every check runs the configured lag query (seconds
+// behind the primary) against the replica; reads go to the primary until the first check passes,
+// while the lag exceeds max-lag, and after a failed check or connection attempt.
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    private volatile boolean available;
+    private volatile boolean checked;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        meterRegistry.gauge("datasource.replica.lag", this, monitor -> monitor.lagSeconds);
+        meterRegistry.gauge("datasource.replica.available", this, monitor -> monitor.available ? 1 : 0);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval}")
+    public void check() {
+        try {
+            Double lag = replica.queryForObject(lagQuery, Double.class);
+            lagSeconds = lag != null ? lag : 0;
+        } catch (DataAccessException e) {
+            lagSeconds = Double.NaN;
+            markUnavailable(e);
+            return;
+        }
+
+        // Logged on changes only (and the first check), not every interval
+        boolean withinLimit = lagSeconds * 1000 <= maxLag.toMillis();
+        if (withinLimit && (!available || !checked)) {
+            log.info("Replica lag {}s is within {}; routing read-only transactions to the replica", lagSeconds, maxLag);
+        } else if (!withinLimit && (available || !checked)) {
+            log.warn("Replica lag {}s exceeds {}; routing reads to the primary", lagSeconds, maxLag);
+        }
+        available = withinLimit;
+        checked = true;
+    }
+
+    // Until the next successful check
+    public void markUnavailable(Exception cause) {
+        if (available || !checked) {
+            log.warn("Replica unavailable; routing reads to the primary: {}", cause.getMessage());
+        }
+        available = false;
+        checked = true;
+    }
+}
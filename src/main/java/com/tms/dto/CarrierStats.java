@@ -0,0 +1,14 @@
+package com.tms.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CarrierStats {
+    private String carrierName;
+    private Long count;
+    private Double totalRate;
+    private Double totalWeight;
+}
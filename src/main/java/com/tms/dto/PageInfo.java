@@ -0,0 +1,14 @@
+package com.tms.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PageInfo {
+    private Boolean hasNextPage;
+    private Boolean hasPreviousPage;
+    private String startCursor;
+    private String endCursor;
+}
@@ -0,0 +1,12 @@
+package com.tms.dto;
+
+// Contact details a write supplies for its carrier and shipper; they are stored on the Carrier
+// and Shipper rows (see ShipmentPartyService), not on the shipment
+public interface PartyContacts {
+
+    String getShipperEmail();
+
+    String getShipperPhone();
+
+    String getCarrierContact();
+}
@@ -0,0 +1,13 @@
+package com.tms.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShipmentBatchError {
+    private Integer index;
+    private Long id;
+    private String message;
+}
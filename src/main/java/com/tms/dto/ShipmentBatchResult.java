@@ -0,0 +1,33 @@
+package com.tms.dto;
+
+import lombok.*;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShipmentBatchResult {
+    @Builder.Default
+    private List<Long> ids = new ArrayList<>();
+    @Builder.Default
+    private List<ShipmentBatchError> errors = new ArrayList<>();
+    
+    public int getSuccessCount() {
+        return ids.size();
+    }
+    
+    public int getFailureCount() {
+        return errors.size();
+    }
+    
+    public void addError(int index, Long id, String message) {
+        errors.add(new ShipmentBatchError(index, id, message));
+    }
+    
+    public void merge(ShipmentBatchResult other) {
+        ids.addAll(other.getIds());
+        errors.addAll(other.getErrors());
+    }
+}
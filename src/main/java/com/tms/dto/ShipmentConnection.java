@@ -0,0 +1,36 @@
+package com.tms.dto;
+
+import com.tms.model.Shipment;
+import lombok.*;
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShipmentConnection {
+    private List<ShipmentEdge> edges;
+    private PageInfo pageInfo;
+
+    // Kept so totalCount can be resolved lazily, only when the client selects it
+    private ShipmentFilter filter;
+
+    public static ShipmentConnection from(List<Shipment> content, Function<Shipment, String> cursorFor,
+                                          boolean hasNext, boolean hasPrevious, ShipmentFilter filter) {
+        List<ShipmentEdge> edges = content.stream()
+            .map(shipment -> new ShipmentEdge(cursorFor.apply(shipment), shipment))
+            .toList();
+
+        return ShipmentConnection.builder()
+            .edges(edges)
+            .pageInfo(PageInfo.builder()
+                .hasNextPage(hasNext)
+                .hasPreviousPage(hasPrevious)
+                .startCursor(edges.isEmpty() ? null : edges.get(0).getCursor())
+                .endCursor(edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor())
+                .build())
+            .filter(filter)
+            .build();
+    }
+}
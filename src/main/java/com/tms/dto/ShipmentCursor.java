@@ -0,0 +1,71 @@
+package com.tms.dto;
+
+import com.tms.model.Shipment;
+import com.tms.model.ShipmentStatus;
+import lombok.*;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+public class ShipmentCursor {
+
+    // Only non-null columns can be used as keyset sort keys
+    private static final Map<String, Function<String, Comparable<?>>> SORT_KEYS = Map.of(
+        "id", Long::valueOf,
+        "createdAt", LocalDateTime::parse,
+        "updatedAt", LocalDateTime::parse,
+        "shipmentNumber", value -> value,
+        "shipperName", value -> value,
+        "carrierName", value -> value,
+        "pickupLocation", value -> value,
+        "deliveryLocation", value -> value,
+        "status", ShipmentStatus::valueOf
+    );
+
+    private final String sortKey;
+    private final Sort.Direction direction;
+    private final Comparable<?> value;
+    private final Long id;
+
+    public static boolean isSortable(String sortKey) {
+        return SORT_KEYS.containsKey(sortKey);
+    }
+
+    public static ShipmentCursor of(String sortKey, Sort.Direction direction, Shipment shipment) {
+        Object value = PropertyAccessorFactory.forBeanPropertyAccess(shipment).getPropertyValue(sortKey);
+        return new ShipmentCursor(sortKey, direction, (Comparable<?>) value, shipment.getId());
+    }
+
+    public static ShipmentCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4 || !isSortable(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new ShipmentCursor(
+                parts[0],
+                Sort.Direction.valueOf(parts[1]),
+                SORT_KEYS.get(parts[0]).apply(parts[3]),
+                Long.valueOf(parts[2])
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        String raw = sortKey + "|" + direction.name() + "|" + id + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean matches(String sortKey, Sort.Direction direction) {
+        return this.sortKey.equals(sortKey) && this.direction == direction;
+    }
+}
@@ -0,0 +1,13 @@
+package com.tms.dto;
+
+import com.tms.model.Shipment;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShipmentEdge {
+    private String cursor;
+    private Shipment node;
+}
@@ -1,7 +1,11 @@
 package com.tms.dto;
 
+import com.tms.model.Shipment;
 import com.tms.model.ShipmentStatus;
 import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+import java.time.LocalDate;
+import java.util.Locale;
 
 @Data
 @NoArgsConstructor
@@ -14,4 +18,59 @@ public class ShipmentFilter {
     private String pickupLocation;
     private String deliveryLocation;
     private Boolean flagged;
+    private Double minRate;
+    private Double maxRate;
+    
+    // Inclusive date ranges, open-ended when a bound is missing. ISO formats are for the REST
+    // export's query parameters; GraphQL passes these as Date scalars
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate pickupFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate pickupTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate deliveryFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate deliveryTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdTo;
+    
+    public boolean isEmpty() {
+        return shipperName == null && carrierName == null && status == null &&
+               pickupLocation == null && deliveryLocation == null && flagged == null &&
+               minRate == null && maxRate == null &&
+               pickupFrom == null && pickupTo == null && deliveryFrom == null && deliveryTo == null &&
+               createdFrom == null && createdTo == null;
+    }
+    
+    // In-memory equivalent of ShipmentSpecifications.matching(filter)
+    public boolean matches(Shipment shipment) {
+        return containsIgnoreCase(shipment.getShipperName(), shipperName) &&
+               containsIgnoreCase(shipment.getCarrierName(), carrierName) &&
+               (status == null || status == shipment.getStatus()) &&
+               containsIgnoreCase(shipment.getPickupLocation(), pickupLocation) &&
+               containsIgnoreCase(shipment.getDeliveryLocation(), deliveryLocation) &&
+               (flagged == null || flagged.equals(shipment.getFlagged())) &&
+               inRange(shipment.getRate(), minRate, maxRate) &&
+               inRange(shipment.getPickupDate(), pickupFrom, pickupTo) &&
+               inRange(shipment.getDeliveryDate(), deliveryFrom, deliveryTo) &&
+               inRange(shipment.getCreatedAt() != null ? shipment.getCreatedAt().toLocalDate() : null, createdFrom, createdTo);
+    }
+    
+    private static <T extends Comparable<? super T>> boolean inRange(T value, T from, T to) {
+        if (from == null && to == null) {
+            return true;
+        }
+        return value != null &&
+               (from == null || value.compareTo(from) >= 0) &&
+               (to == null || value.compareTo(to) <= 0);
+    }
+    
+    private static boolean containsIgnoreCase(String value, String fragment) {
+        if (fragment == null) {
+            return true;
+        }
+        return value != null && value.toLowerCase(Locale.ROOT).contains(fragment.toLowerCase(Locale.ROOT));
+    }
 }
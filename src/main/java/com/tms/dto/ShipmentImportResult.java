@@ -0,0 +1,40 @@
+package com.tms.dto;
+
+import com.tms.model.ImportStatus;
+import com.tms.model.ShipmentImport;
+import lombok.*;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShipmentImportResult {
+    private Long importId;
+    private ImportStatus status;
+    private Long rowsCommitted;
+    private Long importedCount;
+    private Long skippedCount;
+    private Long failedCount;
+    private String lastError;
+    // Rows handled by this request and their rate; a resumed import does not count earlier runs
+    private Long rowsProcessed;
+    private Long elapsedMs;
+    private Double rowsPerSecond;
+    // Row-level errors of this request, by 1-based data row number; capped at import.max-reported-errors
+    @Builder.Default
+    private List<ShipmentBatchError> errors = new ArrayList<>();
+
+    public static ShipmentImportResult of(ShipmentImport shipmentImport) {
+        return ShipmentImportResult.builder()
+            .importId(shipmentImport.getId())
+            .status(shipmentImport.getStatus())
+            .rowsCommitted(shipmentImport.getRowsCommitted())
+            .importedCount(shipmentImport.getImportedCount())
+            .skippedCount(shipmentImport.getSkippedCount())
+            .failedCount(shipmentImport.getFailedCount())
+            .lastError(shipmentImport.getLastError())
+            .build();
+    }
+}
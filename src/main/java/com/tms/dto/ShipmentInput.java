@@ -1,14 +1,16 @@
 package com.tms.dto;
 
+import com.tms.model.Shipment;
 import com.tms.model.ShipmentStatus;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import java.time.LocalDate;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class ShipmentInput {
+public class ShipmentInput implements PartyContacts {
     
     @NotBlank(message = "Shipment number is required")
     private String shipmentNumber;
@@ -29,12 +31,12 @@ public class ShipmentInput {
     @NotBlank(message = "Pickup location is required")
     private String pickupLocation;
     
-    private String pickupDate;
+    private LocalDate pickupDate;
     
     @NotBlank(message = "Delivery location is required")
     private String deliveryLocation;
     
-    private String deliveryDate;
+    private LocalDate deliveryDate;
     
     private String trackingNumber;
     
@@ -51,4 +53,24 @@ public class ShipmentInput {
     private String currency;
     
     private String specialInstructions;
+    
+    public Shipment toShipment() {
+        return Shipment.builder()
+            .shipmentNumber(shipmentNumber)
+            .shipperName(shipperName)
+            .carrierName(carrierName)
+            .pickupLocation(pickupLocation)
+            .pickupDate(pickupDate)
+            .deliveryLocation(deliveryLocation)
+            .deliveryDate(deliveryDate)
+            .trackingNumber(trackingNumber)
+            .status(status != null ? status : ShipmentStatus.PENDING)
+            .weight(weight)
+            .dimensions(dimensions)
+            .rate(rate)
+            .currency(currency != null ? currency : "USD")
+            .specialInstructions(specialInstructions)
+            .flagged(false)
+            .build();
+    }
 }
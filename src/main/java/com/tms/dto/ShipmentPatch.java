@@ -0,0 +1,114 @@
+package com.tms.dto;
+
+import com.tms.model.Shipment;
+import com.tms.model.ShipmentStatus;
+import jakarta.validation.constraints.*;
+import lombok.*;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Partial update: null fields are left unchanged, so a patch cannot clear a column (use updateShipment for that)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShipmentPatch implements PartyContacts {
+
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+
+    @Pattern(regexp = NOT_BLANK, message = "Shipment number must not be blank")
+    private String shipmentNumber;
+
+    @Pattern(regexp = NOT_BLANK, message = "Shipper name must not be blank")
+    private String shipperName;
+
+    @Email(message = "Invalid email format")
+    private String shipperEmail;
+
+    private String shipperPhone;
+
+    @Pattern(regexp = NOT_BLANK, message = "Carrier name must not be blank")
+    private String carrierName;
+
+    private String carrierContact;
+
+    @Pattern(regexp = NOT_BLANK, message = "Pickup location must not be blank")
+    private String pickupLocation;
+
+    private LocalDate pickupDate;
+
+    @Pattern(regexp = NOT_BLANK, message = "Delivery location must not be blank")
+    private String deliveryLocation;
+
+    private LocalDate deliveryDate;
+
+    private String trackingNumber;
+
+    private ShipmentStatus status;
+
+    @PositiveOrZero(message = "Weight must be positive or zero")
+    private Double weight;
+
+    private String dimensions;
+
+    @PositiveOrZero(message = "Rate must be positive or zero")
+    private Double rate;
+
+    private String currency;
+
+    private String specialInstructions;
+
+    private Boolean flagged;
+
+    // Shipment attribute -> new value, for the non-null fields only. The contact fields are not
+    // shipment attributes: they update the carrier / shipper (see changesParties)
+    public Map<String, Object> changes() {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        putIfSet(changes, "shipmentNumber", shipmentNumber);
+        putIfSet(changes, "shipperName", shipperName);
+        putIfSet(changes, "carrierName", carrierName);
+        putIfSet(changes, "pickupLocation", pickupLocation);
+        putIfSet(changes, "pickupDate", pickupDate);
+        putIfSet(changes, "deliveryLocation", deliveryLocation);
+        putIfSet(changes, "deliveryDate", deliveryDate);
+        putIfSet(changes, "trackingNumber", trackingNumber);
+        putIfSet(changes, "status", status);
+        putIfSet(changes, "weight", weight);
+        putIfSet(changes, "dimensions", dimensions);
+        putIfSet(changes, "rate", rate);
+        putIfSet(changes, "currency", currency);
+        putIfSet(changes, "specialInstructions", specialInstructions);
+        putIfSet(changes, "flagged", flagged);
+        return changes;
+    }
+
+    public boolean isEmpty() {
+        return changes().isEmpty() && !hasContacts();
+    }
+
+    // True when the patch renames or re-contacts the carrier or shipper, so they must be relinked
+    public boolean changesParties() {
+        return shipperName != null || carrierName != null || hasContacts();
+    }
+
+    private boolean hasContacts() {
+        return shipperEmail != null || shipperPhone != null || carrierContact != null;
+    }
+
+    // Copy of shipment with the changes applied; shipment itself is not modified
+    public Shipment applyTo(Shipment shipment) {
+        Shipment patched = shipment.toBuilder().build();
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(patched);
+        changes().forEach(wrapper::setPropertyValue);
+        return patched;
+    }
+
+    private static void putIfSet(Map<String, Object> changes, String attribute, Object value) {
+        if (value != null) {
+            changes.put(attribute, value);
+        }
+    }
+}
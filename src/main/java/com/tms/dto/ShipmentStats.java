@@ -0,0 +1,15 @@
+package com.tms.dto;
+
+import lombok.*;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShipmentStats {
+    private Long totalCount;
+    private Long flaggedCount;
+    private List<StatusCount> byStatus;
+    private List<CarrierStats> byCarrier;
+}
@@ -0,0 +1,13 @@
+package com.tms.dto;
+
+import com.tms.model.ShipmentStatus;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShipmentStatusUpdate {
+    private Long id;
+    private ShipmentStatus status;
+}
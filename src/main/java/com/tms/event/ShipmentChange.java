@@ -0,0 +1,11 @@
+package com.tms.event;
+
+import com.tms.model.Shipment;
+import lombok.Value;
+
+// before is null for a created shipment, after is null for a deleted one
+@Value
+public class ShipmentChange {
+    Shipment before;
+    Shipment after;
+}
@@ -0,0 +1,24 @@
+package com.tms.event;
+
+import com.tms.model.Shipment;
+import lombok.Value;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@Value
+public class ShipmentChangedEvent {
+    List<ShipmentChange> changes;
+    
+    public static ShipmentChangedEvent of(Shipment before, Shipment after) {
+        return new ShipmentChangedEvent(List.of(new ShipmentChange(before, after)));
+    }
+    
+    // Every old and new state touched by the change set
+    public List<Shipment> getStates() {
+        return changes.stream()
+            .flatMap(change -> Stream.of(change.getBefore(), change.getAfter()))
+            .filter(Objects::nonNull)
+            .toList();
+    }
+}
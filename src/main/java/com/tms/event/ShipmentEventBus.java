@@ -0,0 +1,134 @@
+package com.tms.event;
+
+import com.tms.dto.ShipmentFilter;
+import com.tms.model.Shipment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fans committed shipment changes out to GraphQL subscribers. The committing thread only hands the
+// changes to a single dispatcher thread, which filters them (status subscribers are looked up by
+// shipment id, not tested one by one) and emits into each subscriber's bounded buffer; every
+// subscriber drains its buffer on a separate scheduler, so a slow client never blocks a writer,
+// the dispatcher or other subscribers.
+@Component
+@Slf4j
+public class ShipmentEventBus implements DisposableBean {
+
+    private static final int PREFETCH = 32;
+    // Committed events waiting for the dispatcher; beyond this they are dropped and counted
+    private static final int DISPATCH_QUEUE = 10_000;
+
+    private final ThreadPoolExecutor dispatcher;
+    private final Set<UpdateSubscriber> updateSubscribers = new CopyOnWriteArraySet<>();
+    private final Map<Long, Set<Sinks.Many<Shipment>>> statusSubscribers = new ConcurrentHashMap<>();
+    private final Scheduler deliveryScheduler = Schedulers.boundedElastic();
+    private final AtomicInteger subscribers;
+    private final Counter dropped;
+
+    @Value("${subscriptions.buffer-size}")
+    private int bufferSize;
+
+    public ShipmentEventBus(MeterRegistry meterRegistry) {
+        this.subscribers = meterRegistry.gauge("graphql.subscriptions.active", new AtomicInteger());
+        this.dropped = Counter.builder("graphql.subscriptions.dropped")
+                .description("Shipment updates dropped for subscribers that fell behind")
+                .register(meterRegistry);
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(DISPATCH_QUEUE),
+                Thread.ofPlatform().daemon().name("shipment-event-dispatch").factory(),
+                (task, executor) -> dropped.increment());
+    }
+
+    // Runs after commit; the single dispatcher thread handles events in the order they arrive
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentChanged(ShipmentChangedEvent event) {
+        if (!updateSubscribers.isEmpty() || !statusSubscribers.isEmpty()) {
+            List<ShipmentChange> changes = event.getChanges();
+            dispatcher.execute(() -> dispatch(changes));
+        }
+    }
+
+    // Created or updated shipments matching the filter; when the buffer is full the oldest update is dropped
+    public Flux<Shipment> updates(ShipmentFilter filter) {
+        return Flux.defer(() -> {
+            UpdateSubscriber subscriber = new UpdateSubscriber(filter, Sinks.many().unicast().onBackpressureBuffer());
+            updateSubscribers.add(subscriber);
+            return deliver(subscriber.sink().asFlux()
+                    .onBackpressureBuffer(bufferSize, shipment -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST))
+                .doFinally(signal -> updateSubscribers.remove(subscriber));
+        });
+    }
+
+    // Status transitions of one shipment; only the latest status matters, so a slow client gets it coalesced
+    public Flux<Shipment> statusChanges(Long id) {
+        return Flux.defer(() -> {
+            Sinks.Many<Shipment> sink = Sinks.many().unicast().onBackpressureBuffer();
+            statusSubscribers.compute(id, (key, sinks) -> {
+                Set<Sinks.Many<Shipment>> registered = sinks != null ? sinks : new CopyOnWriteArraySet<>();
+                registered.add(sink);
+                return registered;
+            });
+            return deliver(sink.asFlux().onBackpressureLatest())
+                .doFinally(signal -> statusSubscribers.computeIfPresent(id, (key, sinks) -> {
+                    sinks.remove(sink);
+                    return sinks.isEmpty() ? null : sinks;
+                }));
+        });
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+    }
+
+    // On the dispatcher thread, the only emitter into the subscriber sinks
+    private void dispatch(List<ShipmentChange> changes) {
+        for (ShipmentChange change : changes) {
+            Shipment after = change.getAfter();
+            if (after == null) {
+                continue;
+            }
+            for (UpdateSubscriber subscriber : updateSubscribers) {
+                if (subscriber.filter() == null || subscriber.filter().matches(after)) {
+                    subscriber.sink().tryEmitNext(after);
+                }
+            }
+            if (change.getBefore() != null && !Objects.equals(change.getBefore().getStatus(), after.getStatus())) {
+                Set<Sinks.Many<Shipment>> sinks = statusSubscribers.get(after.getId());
+                if (sinks != null) {
+                    sinks.forEach(sink -> sink.tryEmitNext(after));
+                }
+            }
+        }
+    }
+
+    private Flux<Shipment> deliver(Flux<Shipment> updates) {
+        return updates
+            .publishOn(deliveryScheduler, PREFETCH)
+            .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+            .doFinally(signal -> subscribers.decrementAndGet());
+    }
+
+    private record UpdateSubscriber(ShipmentFilter filter, Sinks.Many<Shipment> sink) {
+    }
+}
@@ -1,24 +1,36 @@
 package com.tms.exception;
 
+import graphql.ErrorClassification;
 import graphql.GraphQLError;
 import graphql.GraphqlErrorBuilder;
 import graphql.schema.DataFetchingEnvironment;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
 import org.springframework.graphql.execution.ErrorType;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.BindException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
 @Component
 @Slf4j
 public class GlobalExceptionHandler extends DataFetcherExceptionResolverAdapter {
     
+    // Message of the IllegalStateException Spring GraphQL wraps a Callable resolver's failure in
+    private static final String CALLABLE_FAILURE = "Failure in Callable returned from ";
+    
     @Override
     protected GraphQLError resolveToSingleError(Throwable ex, DataFetchingEnvironment env) {
         log.error("GraphQL Error: ", ex);
         
+        ex = unwrap(ex);
+        
         if (ex instanceof ResourceNotFoundException) {
             return GraphqlErrorBuilder.newError()
                 .errorType(ErrorType.NOT_FOUND)
@@ -28,6 +40,15 @@ public class GlobalExceptionHandler extends DataFetcherExceptionResolverAdapter
                 .build();
         }
         
+        if (ex instanceof OptimisticLockingFailureException) {
+            return GraphqlErrorBuilder.newError()
+                .errorType(ErrorClassification.errorClassification("CONFLICT"))
+                .message(ex.getMessage())
+                .path(env.getExecutionStepInfo().getPath())
+                .location(env.getField().getSourceLocation())
+                .build();
+        }
+        
         if (ex instanceof BadCredentialsException) {
             return GraphqlErrorBuilder.newError()
                 .errorType(ErrorType.UNAUTHORIZED)
@@ -46,6 +67,15 @@ public class GlobalExceptionHandler extends DataFetcherExceptionResolverAdapter
                 .build();
         }
         
+        if (ex instanceof IllegalArgumentException) {
+            return GraphqlErrorBuilder.newError()
+                .errorType(ErrorType.BAD_REQUEST)
+                .message(ex.getMessage())
+                .path(env.getExecutionStepInfo().getPath())
+                .location(env.getField().getSourceLocation())
+                .build();
+        }
+        
         if (ex instanceof BindException) {
             return GraphqlErrorBuilder.newError()
                 .errorType(ErrorType.BAD_REQUEST)
@@ -55,6 +85,19 @@ public class GlobalExceptionHandler extends DataFetcherExceptionResolverAdapter
                 .build();
         }
         
+        // @Valid on @Argument parameters fails through method validation
+        if (ex instanceof ConstraintViolationException violations) {
+            return GraphqlErrorBuilder.newError()
+                .errorType(ErrorType.BAD_REQUEST)
+                .message("Validation error: " + violations.getConstraintViolations().stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")))
+                .path(env.getExecutionStepInfo().getPath())
+                .location(env.getField().getSourceLocation())
+                .build();
+        }
+        
         return GraphqlErrorBuilder.newError()
             .errorType(ErrorType.INTERNAL_ERROR)
             .message("Internal server error: " + ex.getMessage())
@@ -62,4 +105,14 @@ public class GlobalExceptionHandler extends DataFetcherExceptionResolverAdapter
             .location(env.getField().getSourceLocation())
             .build();
     }
+    
+    // Failures inside Callable-returning resolvers arrive wrapped by the adapter and the executor;
+    // any other IllegalStateException is the application's own and is reported as is
+    private static Throwable unwrap(Throwable ex) {
+        while (ex.getCause() != null && (ex instanceof CompletionException || ex instanceof ExecutionException
+                || ex instanceof IllegalStateException && ex.getMessage() != null && ex.getMessage().startsWith(CALLABLE_FAILURE))) {
+            ex = ex.getCause();
+        }
+        return ex;
+    }
 }
@@ -0,0 +1,81 @@
+package com.tms.graphql;
+
+import graphql.GraphQLContext;
+import graphql.execution.CoercedVariables;
+import graphql.language.StringValue;
+import graphql.language.Value;
+import graphql.schema.Coercing;
+import graphql.schema.CoercingParseLiteralException;
+import graphql.schema.CoercingParseValueException;
+import graphql.schema.CoercingSerializeException;
+import graphql.schema.GraphQLScalarType;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+// Calendar date without time zone, as an ISO-8601 string (2024-01-15) on the wire
+public final class DateScalar {
+
+    public static final GraphQLScalarType DATE = GraphQLScalarType.newScalar()
+        .name("Date")
+        .description("ISO-8601 calendar date, e.g. 2024-01-15")
+        .coercing(new DateCoercing())
+        .build();
+
+    private DateScalar() {
+    }
+
+    private static final class DateCoercing implements Coercing<LocalDate, String> {
+
+        @Override
+        public String serialize(Object value, GraphQLContext context, Locale locale) {
+            if (value instanceof LocalDate date) {
+                return date.toString();
+            }
+            if (value instanceof String text) {
+                try {
+                    return LocalDate.parse(text).toString();
+                } catch (DateTimeParseException e) {
+                    throw new CoercingSerializeException("Invalid Date value: " + text, e);
+                }
+            }
+            throw new CoercingSerializeException("Expected a LocalDate but was " + typeName(value));
+        }
+
+        @Override
+        public LocalDate parseValue(Object input, GraphQLContext context, Locale locale) {
+            if (input instanceof LocalDate date) {
+                return date;
+            }
+            if (input instanceof String text) {
+                try {
+                    return LocalDate.parse(text);
+                } catch (DateTimeParseException e) {
+                    throw new CoercingParseValueException("Invalid Date '" + text + "'; expected yyyy-MM-dd", e);
+                }
+            }
+            throw new CoercingParseValueException("Expected a yyyy-MM-dd string but was " + typeName(input));
+        }
+
+        @Override
+        public LocalDate parseLiteral(Value<?> input, CoercedVariables variables, GraphQLContext context, Locale locale) {
+            if (!(input instanceof StringValue string)) {
+                throw new CoercingParseLiteralException("Expected a yyyy-MM-dd string literal");
+            }
+            try {
+                return LocalDate.parse(string.getValue());
+            } catch (DateTimeParseException e) {
+                throw new CoercingParseLiteralException("Invalid Date '" + string.getValue() + "'; expected yyyy-MM-dd", e);
+            }
+        }
+
+        @Override
+        public Value<?> valueToLiteral(Object input, GraphQLContext context, Locale locale) {
+            return StringValue.newStringValue(serialize(input, context, locale)).build();
+        }
+
+        private static String typeName(Object value) {
+            return value == null ? "null" : value.getClass().getSimpleName();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.tms.graphql;
+
+import com.tms.metrics.SqlStatementCounter;
+import graphql.ExecutionResult;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// Per-operation execution time and Hibernate statement count, tagged by the operation's root
+// fields (e.g. "shipments", "createShipment,flagShipment"). Root fields come from the schema, so
+// the tag stays bounded no matter what operation names clients send. A statement count that grows
+// with the page size points at an N+1.
+@Component
+@RequiredArgsConstructor
+public class GraphQlMetricsInstrumentation extends SimplePerformantInstrumentation {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters,
+            InstrumentationState state
+    ) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        OperationDefinition operation = executionContext.getOperationDefinition();
+        if (operation.getOperation() == OperationDefinition.Operation.SUBSCRIPTION) {
+            return SimpleInstrumentationContext.noOp();
+        }
+
+        AtomicInteger statements = SqlStatementCounter.start();
+        executionContext.getGraphQLContext().put(SqlStatementCounter.KEY, statements);
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        return SimpleInstrumentationContext.whenCompleted((result, error) -> {
+            String type = operation.getOperation().name().toLowerCase();
+            String fields = rootFields(operation);
+            boolean failed = error != null || (result != null && !result.getErrors().isEmpty());
+            sample.stop(Timer.builder("graphql.operation")
+                    .description("GraphQL operation execution time by root fields")
+                    .tag("type", type)
+                    .tag("fields", fields)
+                    .tag("outcome", failed ? "error" : "success")
+                    .register(meterRegistry));
+            DistributionSummary.builder("graphql.operation.sql.statements")
+                    .description("Hibernate SQL statements issued per GraphQL operation")
+                    .tag("type", type)
+                    .tag("fields", fields)
+                    .register(meterRegistry)
+                    .record(statements.get());
+        });
+    }
+
+    private static String rootFields(OperationDefinition operation) {
+        String fields = operation.getSelectionSet().getSelectionsOfType(Field.class).stream()
+                .map(Field::getName)
+                .filter(name -> !name.startsWith("__"))
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+        return fields.isEmpty() ? "none" : fields;
+    }
+}
@@ -0,0 +1,73 @@
+package com.tms.graphql;
+
+import graphql.GraphQLContext;
+import graphql.execution.CoercedVariables;
+import graphql.language.IntValue;
+import graphql.language.Value;
+import graphql.schema.Coercing;
+import graphql.schema.CoercingParseLiteralException;
+import graphql.schema.CoercingParseValueException;
+import graphql.schema.CoercingSerializeException;
+import graphql.schema.GraphQLScalarType;
+import java.math.BigInteger;
+import java.util.Locale;
+
+// 64-bit integer for counts that can pass Int's 32-bit range, as a plain JSON number on the wire
+public final class LongScalar {
+
+    public static final GraphQLScalarType LONG = GraphQLScalarType.newScalar()
+        .name("Long")
+        .description("64-bit signed integer; JavaScript clients read values above 2^53 imprecisely")
+        .coercing(new LongCoercing())
+        .build();
+
+    private LongScalar() {
+    }
+
+    private static final class LongCoercing implements Coercing<Long, Long> {
+
+        @Override
+        public Long serialize(Object value, GraphQLContext context, Locale locale) {
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                return ((Number) value).longValue();
+            }
+            throw new CoercingSerializeException("Expected an integer but was " + typeName(value));
+        }
+
+        @Override
+        public Long parseValue(Object input, GraphQLContext context, Locale locale) {
+            if (input instanceof Long || input instanceof Integer || input instanceof Short || input instanceof Byte) {
+                return ((Number) input).longValue();
+            }
+            if (input instanceof BigInteger big) {
+                try {
+                    return big.longValueExact();
+                } catch (ArithmeticException e) {
+                    throw new CoercingParseValueException("Long value out of range: " + big, e);
+                }
+            }
+            throw new CoercingParseValueException("Expected an integer but was " + typeName(input));
+        }
+
+        @Override
+        public Long parseLiteral(Value<?> input, CoercedVariables variables, GraphQLContext context, Locale locale) {
+            if (!(input instanceof IntValue integer)) {
+                throw new CoercingParseLiteralException("Expected an integer literal");
+            }
+            try {
+                return integer.getValue().longValueExact();
+            } catch (ArithmeticException e) {
+                throw new CoercingParseLiteralException("Long value out of range: " + integer.getValue(), e);
+            }
+        }
+
+        @Override
+        public Value<?> valueToLiteral(Object input, GraphQLContext context, Locale locale) {
+            return IntValue.newIntValue(BigInteger.valueOf(serialize(input, context, locale))).build();
+        }
+
+        private static String typeName(Object value) {
+            return value == null ? "null" : value.getClass().getSimpleName();
+        }
+    }
+}
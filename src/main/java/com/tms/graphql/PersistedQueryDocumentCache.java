@@ -0,0 +1,90 @@
+package com.tms.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.CompletableFuture;
+
+// Bounded cache of parsed and validated documents keyed by the SHA-256 of the query text.
+// Only documents without errors are kept, so an invalid query is re-validated on every request.
+@Component
+public class PersistedQueryDocumentCache implements PersistedQueryCache {
+
+    private static final String CACHE_NAME = "graphql.persisted-queries";
+
+    private final Cache<Object, PreparsedDocumentEntry> documents;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PersistedQueryDocumentCache(
+            @Value("${graphql.persisted-queries.maximum-size}") long maximumSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.hits = Counter.builder("graphql.persisted.queries")
+                .description("Persisted query lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("graphql.persisted.queries")
+                .description("Persisted query lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        // Same tag keys Boot puts on the Spring-managed caches: Prometheus keeps only the first
+        // tag set it sees per metric name, so mismatched keys would hide the shipment caches
+        CaffeineCacheMetrics.monitor(meterRegistry, documents, CACHE_NAME,
+                "cache.manager", "none", "name", CACHE_NAME);
+    }
+
+    // Lookups never block (parsing on a miss runs on the calling thread), so the future is always
+    // complete; an unknown hash-only request throws right away, as the synchronous contract does
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(
+            Object persistedQueryId,
+            ExecutionInput executionInput,
+            PersistedQueryCacheMiss onCacheMiss
+    ) throws PersistedQueryNotFound {
+        PreparsedDocumentEntry entry = documents.getIfPresent(persistedQueryId);
+        if (entry != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(entry);
+        }
+        misses.increment();
+
+        // Hash-only request for a query this instance has not seen: the client retries with the full text
+        String query = executionInput.getQuery();
+        if (PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query)) {
+            throw new PersistedQueryNotFound(persistedQueryId);
+        }
+
+        entry = onCacheMiss.apply(query);
+        if (!entry.hasErrors()) {
+            documents.put(persistedQueryId, entry);
+        }
+        return CompletableFuture.completedFuture(entry);
+    }
+
+    // Still abstract in graphql-java 21 and what its PersistedQuerySupport calls; kept only as a
+    // bridge to the async lookup
+    @Override
+    @Deprecated
+    public PreparsedDocumentEntry getPersistedQueryDocument(
+            Object persistedQueryId,
+            ExecutionInput executionInput,
+            PersistedQueryCacheMiss onCacheMiss
+    ) throws PersistedQueryNotFound {
+        return getPersistedQueryDocumentAsync(persistedQueryId, executionInput, onCacheMiss).join();
+    }
+}
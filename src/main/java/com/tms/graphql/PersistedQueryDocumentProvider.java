@@ -0,0 +1,44 @@
+package com.tms.graphql;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+// Apollo Automatic Persisted Queries. Requests that carry extensions.persistedQuery.sha256Hash are
+// looked up by that hash; plain full-text requests are keyed by the hash of their text, so every
+// client skips parse/validate for a document the server has already seen.
+@Component
+public class PersistedQueryDocumentProvider extends ApolloPersistedQuerySupport {
+
+    public PersistedQueryDocumentProvider(PersistedQueryDocumentCache cache) {
+        super(cache);
+    }
+
+    @Override
+    protected Optional<Object> getPersistedQueryId(ExecutionInput executionInput) {
+        Optional<Object> clientHash = super.getPersistedQueryId(executionInput);
+        if (clientHash.isPresent()) {
+            return clientHash;
+        }
+        return Optional.of(sha256(executionInput.getQuery()));
+    }
+
+    @Override
+    protected boolean persistedQueryIdIsInvalid(Object persistedQueryId, String queryText) {
+        return !sha256(queryText).equalsIgnoreCase(persistedQueryId.toString());
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
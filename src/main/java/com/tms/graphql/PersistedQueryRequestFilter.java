@@ -0,0 +1,165 @@
+package com.tms.graphql;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// Spring GraphQL rejects a request without "query", but an APQ client's first attempt sends only
+// the hash. Such bodies get graphql-java's marker as their query so the persisted query support
+// can answer from the cache, or with PersistedQueryNotFound so the client resends the full text.
+// The body is buffered to do this, so bodies over graphql.max-request-size are rejected with 413
+// before (Content-Length) or while reading.
+@Component
+@RequiredArgsConstructor
+public class PersistedQueryRequestFilter extends OncePerRequestFilter {
+
+    private static final byte[] EXTENSION_KEY = "\"persistedQuery\"".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${spring.graphql.path}")
+    private String graphqlPath;
+
+    @Value("${graphql.persisted-queries.enabled}")
+    private boolean enabled;
+
+    @Value("${graphql.max-request-size}")
+    private DataSize maxRequestSize;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled
+            || !HttpMethod.POST.matches(request.getMethod())
+            || !graphqlPath.equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        long limit = maxRequestSize.toBytes();
+        if (request.getContentLengthLong() > limit) {
+            rejectTooLarge(response, limit);
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(Math.toIntExact(limit) + 1);
+        if (body.length > limit) {
+            rejectTooLarge(response, limit);
+            return;
+        }
+
+        // Cheap byte scan first; only APQ requests pay for a second JSON parse
+        if (indexOf(body, EXTENSION_KEY) >= 0) {
+            JsonNode json = objectMapper.readTree(body);
+            if (json instanceof ObjectNode node && json.path("extensions").has("persistedQuery")
+                    && !json.path("query").isTextual()) {
+                node.put("query", PersistedQuerySupport.PERSISTED_QUERY_MARKER);
+                body = objectMapper.writeValueAsBytes(node);
+            }
+        }
+
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private void rejectTooLarge(HttpServletResponse response, long limit) throws IOException {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.PAYLOAD_TOO_LARGE,
+            "GraphQL request body exceeds " + limit + " bytes");
+        response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problem);
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The body is already in memory, so it is all available (and read) at once
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException | RuntimeException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+    }
+}
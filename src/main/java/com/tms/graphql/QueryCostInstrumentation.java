@@ -0,0 +1,197 @@
+package com.tms.graphql;
+
+import com.tms.model.UserRole;
+import graphql.ExecutionResult;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.analysis.QueryComplexityCalculator;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.language.OperationDefinition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Scores each query and mutation before it executes and rejects it if it is too deep or over
+// the caller's role budget. Admitted operations then hold cost-weighted permits on a shared
+// semaphore until they complete, so a few large reads cannot materialise more rows at once
+// than the heap can take. Waiting for permits blocks the (virtual) request thread up to the
+// admission timeout.
+//
+// A field costs 1 plus its sub-selection, and paginated fields multiply that by the rows they
+// load (page.size / first, defaulting to the resolvers' 10). List arguments add one per element,
+// so shipments(page: {size: 20}) { content { id status } } costs 20 * (1 + 1 + 2) = 80.
+// Introspection (__schema / __type) is free and exempt from the depth limit.
+@Component
+@Slf4j
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final int DEFAULT_PAGE_SIZE = 10;
+
+    private final int maxDepth;
+    private final int adminBudget;
+    private final int employeeBudget;
+    private final int anonymousBudget;
+    private final int concurrentCost;
+    private final Duration admissionTimeout;
+    private final Semaphore admission;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCostInstrumentation(
+            @Value("${graphql.limits.max-depth}") int maxDepth,
+            @Value("${graphql.limits.budget.admin}") int adminBudget,
+            @Value("${graphql.limits.budget.employee}") int employeeBudget,
+            @Value("${graphql.limits.budget.anonymous}") int anonymousBudget,
+            @Value("${graphql.limits.concurrent-cost}") int concurrentCost,
+            @Value("${graphql.limits.admission-timeout}") Duration admissionTimeout,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxDepth = maxDepth;
+        this.adminBudget = adminBudget;
+        this.employeeBudget = employeeBudget;
+        this.anonymousBudget = anonymousBudget;
+        this.concurrentCost = concurrentCost;
+        this.admissionTimeout = admissionTimeout;
+        // Fair, so a large operation at the head of the queue is not starved by a stream of small ones
+        this.admission = new Semaphore(concurrentCost, true);
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("graphql.admission.cost.available", admission, Semaphore::availablePermits);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters,
+            InstrumentationState state
+    ) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        if (executionContext.getOperationDefinition().getOperation() == OperationDefinition.Operation.SUBSCRIPTION) {
+            return SimpleInstrumentationContext.noOp();
+        }
+
+        int[] depth = {0};
+        int cost = QueryComplexityCalculator.newCalculator()
+                .schema(executionContext.getGraphQLSchema())
+                .document(executionContext.getDocument())
+                .operationName(executionContext.getExecutionInput().getOperationName())
+                .variables(executionContext.getCoercedVariables())
+                .fieldComplexityCalculator((env, childCost) -> {
+                    if (isIntrospection(env)) {
+                        return 0;
+                    }
+                    depth[0] = Math.max(depth[0], depthOf(env));
+                    return fieldCost(env, childCost);
+                })
+                .build()
+                .calculate();
+
+        if (depth[0] > maxDepth) {
+            throw reject("depth", "Query depth " + depth[0] + " exceeds the maximum of " + maxDepth);
+        }
+        int budget = budgetFor(SecurityContextHolder.getContext().getAuthentication());
+        if (cost > budget) {
+            throw reject("cost", "Query cost " + cost + " exceeds the budget of " + budget
+                    + "; request smaller pages or fewer fields");
+        }
+
+        int permits = Math.max(1, Math.min(cost, concurrentCost));
+        try {
+            if (!admission.tryAcquire(permits, admissionTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw reject("busy", "Server is busy; retry shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject("busy", "Interrupted while waiting for admission");
+        }
+        log.debug("Admitted operation with cost {} (depth {})", cost, depth[0]);
+
+        AtomicBoolean released = new AtomicBoolean();
+        return SimpleInstrumentationContext.whenCompleted((result, error) -> {
+            if (released.compareAndSet(false, true)) {
+                admission.release(permits);
+            }
+        });
+    }
+
+    private static int fieldCost(FieldComplexityEnvironment env, int childCost) {
+        long cost = (1L + childCost) * rows(env.getArguments());
+        for (Object argument : env.getArguments().values()) {
+            if (argument instanceof Collection<?> values) {
+                cost += values.size();
+            }
+        }
+        return (int) Math.min(cost, Integer.MAX_VALUE);
+    }
+
+    private static long rows(Map<String, Object> arguments) {
+        if (arguments.containsKey("page")) {
+            Object page = arguments.get("page");
+            Object size = page instanceof Map<?, ?> map ? map.get("size") : null;
+            return size instanceof Number number ? Math.max(1, number.longValue()) : DEFAULT_PAGE_SIZE;
+        }
+        if (arguments.containsKey("first")) {
+            Object first = arguments.get("first");
+            return first instanceof Number number ? Math.max(1, number.longValue()) : DEFAULT_PAGE_SIZE;
+        }
+        return 1;
+    }
+
+    // __schema / __type subtrees are bounded by the schema itself rather than by any data, and
+    // tools such as GraphiQL nest them deeper than max-depth, so they are neither scored nor limited
+    private static boolean isIntrospection(FieldComplexityEnvironment env) {
+        for (FieldComplexityEnvironment current = env; current != null; current = current.getParentEnvironment()) {
+            String name = current.getField().getName();
+            if ("__schema".equals(name) || "__type".equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int depthOf(FieldComplexityEnvironment env) {
+        int depth = 0;
+        for (FieldComplexityEnvironment current = env; current != null; current = current.getParentEnvironment()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    private int budgetFor(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return anonymousBudget;
+        }
+        int budget = anonymousBudget;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (("ROLE_" + UserRole.ADMIN.name()).equals(authority.getAuthority())) {
+                budget = Math.max(budget, adminBudget);
+            } else if (("ROLE_" + UserRole.EMPLOYEE.name()).equals(authority.getAuthority())) {
+                budget = Math.max(budget, employeeBudget);
+            }
+        }
+        return budget;
+    }
+
+    private AbortExecutionException reject(String reason, String message) {
+        Counter.builder("graphql.operation.rejected")
+                .description("GraphQL operations rejected before execution")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Rejected GraphQL operation ({}): {}", reason, message);
+        return new AbortExecutionException(message);
+    }
+}
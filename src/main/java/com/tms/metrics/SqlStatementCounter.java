@@ -0,0 +1,33 @@
+package com.tms.metrics;
+
+import io.micrometer.context.ContextRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Counts the SQL statements Hibernate prepares while a counter is bound to the current thread.
+// The counter is registered as a context-propagation ThreadLocalAccessor, so a counter stored in
+// the GraphQLContext under KEY follows the request onto the resolver executor threads.
+// JdbcTemplate statements do not pass through Hibernate and are not counted.
+public class SqlStatementCounter implements StatementInspector {
+
+    public static final String KEY = "tms.sql-statements";
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(KEY, CURRENT);
+    }
+
+    public static AtomicInteger start() {
+        return new AtomicInteger();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger counter = CURRENT.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,63 @@
+package com.tms.migration;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+import java.util.Locale;
+
+// Pickup and delivery dates used to be free-form text. These are the shapes found in that data
+// (and still accepted from CSV imports); anything else is rejected rather than guessed at.
+// Day-first formats are only accepted with dots, so 03/04/2024 always means March 4.
+public final class LegacyDates {
+
+    private static final List<DateTimeFormatter> FORMATS = List.of(
+        DateTimeFormatter.ISO_LOCAL_DATE,
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+        DateTimeFormatter.ISO_OFFSET_DATE_TIME,
+        DateTimeFormatter.ISO_INSTANT,
+        pattern("uuuu-MM-dd HH:mm[:ss]"),
+        pattern("uuuu/M/d"),
+        pattern("M/d/uuuu"),
+        pattern("d.M.uuuu"),
+        pattern("MMM d[,] uuuu"),
+        pattern("MMMM d[,] uuuu"),
+        pattern("d MMM uuuu"),
+        pattern("d MMMM uuuu")
+    );
+
+    private LegacyDates() {
+    }
+
+    // null for blank input; IllegalArgumentException when no known format matches
+    public static LocalDate parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String text = value.trim();
+        for (DateTimeFormatter format : FORMATS) {
+            try {
+                TemporalAccessor parsed = format.parse(text);
+                return format == DateTimeFormatter.ISO_INSTANT
+                    ? LocalDate.ofInstant(Instant.from(parsed), ZoneOffset.UTC)
+                    : LocalDate.from(parsed);
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        throw new IllegalArgumentException("Unrecognised date: " + value);
+    }
+
+    private static DateTimeFormatter pattern(String pattern) {
+        return new DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .appendPattern(pattern)
+            .toFormatter(Locale.US)
+            .withResolverStyle(ResolverStyle.STRICT);
+    }
+}
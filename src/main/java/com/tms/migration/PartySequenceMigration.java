@@ -0,0 +1,63 @@
+package com.tms.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.Locale;
+import java.util.Map;
+
+// Carrier and shipper ids used to be IDENTITY columns and now come from pooled sequences, like
+// shipment ids. On a database from before that change Hibernate's schema update would create the
+// sequences starting at 1, handing out ids that already exist. Runs before the
+// EntityManagerFactory (see MigrationConfig) and creates each missing sequence past the table's
+// highest id instead; on a fresh schema or once the sequence exists it does nothing.
+@Component
+@Slf4j
+public class PartySequenceMigration implements InitializingBean {
+
+    private static final Map<String, String> SEQUENCES = Map.of("carriers", "carrier_seq", "shippers", "shipper_seq");
+    // Must match the allocationSize of the entities' @SequenceGenerator
+    private static final int INCREMENT = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Not the shared JdbcTemplate bean, for the same reason as ShipmentDateMigration
+    public PartySequenceMigration(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        SEQUENCES.forEach((table, sequence) -> {
+            if (tableExists(table) && !sequenceExists(sequence)) {
+                Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+                // A whole increment past the highest id: the pooled optimizer may hand out the
+                // block below the first value it reads
+                long start = (maxId != null ? maxId : 0) + INCREMENT;
+                log.info("Creating {} starting at {} for the existing {} rows", sequence, start, table);
+                jdbcTemplate.execute("CREATE SEQUENCE " + sequence + " START WITH " + start + " INCREMENT BY " + INCREMENT);
+            }
+        });
+    }
+
+    private boolean tableExists(String table) {
+        return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, name, new String[] {"TABLE"})) {
+                return tables.next();
+            }
+        });
+    }
+
+    private boolean sequenceExists(String sequence) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SEQUENCES WHERE LOWER(SEQUENCE_NAME) = ?", Integer.class, sequence);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,158 @@
+package com.tms.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Converts pickup_date / delivery_date from the old free-form VARCHAR columns to DATE in an
+// existing database. Runs before the EntityManagerFactory (see MigrationConfig) so Hibernate
+// only ever sees typed columns; on a fresh or already migrated schema it does nothing.
+//
+// Each column is rebuilt side by side: values are parsed with LegacyDates into a new DATE
+// column in batches, the indexes on the old column are dropped, the old column is renamed to
+// *_legacy (kept, so no original text is lost) and the new one takes its name; Hibernate's schema
+// update recreates the indexes on the typed column. Values that match no known format are logged
+// with their shipment id and left NULL, with the original still in the *_legacy column.
+//
+// Every step is safe to repeat, and a run interrupted part-way is completed on the next startup:
+// before the renames it starts over; between them (old column gone, *_migrated left) it finishes
+// the rename; and if Hibernate already added an empty typed column in the meantime, the values
+// stranded in *_migrated are copied into it.
+@Component
+@Slf4j
+public class ShipmentDateMigration implements InitializingBean {
+
+    private static final String TABLE = "shipments";
+    private static final List<String> COLUMNS = List.of("pickup_date", "delivery_date");
+    private static final Set<Integer> TEXT_TYPES = Set.of(
+        Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR, Types.CLOB);
+    private static final String MIGRATED = "_migrated";
+    private static final String LEGACY = "_legacy";
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Not the shared JdbcTemplate bean: that one waits for data.sql, which itself runs after the
+    // EntityManagerFactory this migration has to precede
+    public ShipmentDateMigration(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        for (String column : COLUMNS) {
+            Integer type = columnType(column);
+            boolean stranded = columnType(column + MIGRATED) != null;
+            if (type != null && TEXT_TYPES.contains(type)) {
+                migrate(column);
+            } else if (type == null && stranded) {
+                log.info("Completing interrupted migration of {}.{}", TABLE, column);
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME COLUMN " + column + MIGRATED + " TO " + column);
+            } else if (stranded) {
+                recover(column);
+            }
+        }
+    }
+
+    private void migrate(String column) {
+        long start = System.currentTimeMillis();
+        String migrated = column + MIGRATED;
+        log.info("Migrating {}.{} from text to DATE", TABLE, column);
+
+        // IF NOT EXISTS so a migration interrupted before the renames simply starts over
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD COLUMN IF NOT EXISTS " + migrated + " DATE");
+
+        String updateSql = "UPDATE " + TABLE + " SET " + migrated + " = ? WHERE id = ?";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        long[] counts = {0, 0};
+        jdbcTemplate.query("SELECT id, " + column + " FROM " + TABLE + " WHERE " + column + " IS NOT NULL", rs -> {
+            long id = rs.getLong(1);
+            String value = rs.getString(2);
+            LocalDate date;
+            try {
+                date = LegacyDates.parse(value);
+            } catch (IllegalArgumentException e) {
+                log.warn("Shipment {}: {} '{}' is not a recognised date; it will be left empty (original kept in {}{})",
+                    id, column, value, column, LEGACY);
+                counts[1]++;
+                return;
+            }
+            if (date == null) {
+                return;
+            }
+            batch.add(new Object[]{Date.valueOf(date), id});
+            counts[0]++;
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(updateSql, batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(updateSql, batch);
+        }
+
+        // Indexes follow a renamed column; left in place, Hibernate would find them by name and not
+        // recreate them on the typed column
+        for (String index : indexesOn(column)) {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS " + index);
+        }
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME COLUMN " + column + " TO " + column + LEGACY);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME COLUMN " + migrated + " TO " + column);
+        log.info("Migrated {}.{}: {} values converted, {} unrecognised, in {} ms",
+            TABLE, column, counts[0], counts[1], System.currentTimeMillis() - start);
+    }
+
+    // An interruption between the renames followed by a startup that skipped this migration left
+    // Hibernate to add an empty typed column next to the converted values
+    private void recover(String column) {
+        int copied = jdbcTemplate.update("UPDATE " + TABLE + " SET " + column + " = " + column + MIGRATED
+            + " WHERE " + column + " IS NULL AND " + column + MIGRATED + " IS NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP COLUMN " + column + MIGRATED);
+        log.info("Recovered {} converted {} values from an interrupted migration", copied, column);
+    }
+
+    // JDBC type of the column, or null if the table has no such column
+    private Integer columnType(String column) {
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null,
+                    identifier(metaData, TABLE), identifier(metaData, column))) {
+                return columns.next() ? columns.getInt("DATA_TYPE") : null;
+            }
+        });
+    }
+
+    private Set<String> indexesOn(String column) {
+        return jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Set<String> indexes = new LinkedHashSet<>();
+            try (ResultSet info = metaData.getIndexInfo(connection.getCatalog(), null,
+                    identifier(metaData, TABLE), false, false)) {
+                while (info.next()) {
+                    if (column.equalsIgnoreCase(info.getString("COLUMN_NAME")) && info.getString("INDEX_NAME") != null) {
+                        indexes.add(info.getString("INDEX_NAME"));
+                    }
+                }
+            }
+            return indexes;
+        });
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase(Locale.ROOT) : name;
+    }
+}
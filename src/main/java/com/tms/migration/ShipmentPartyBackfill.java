@@ -0,0 +1,216 @@
+package com.tms.migration;
+
+import com.tms.model.Carrier;
+import com.tms.model.Shipper;
+import com.tms.service.ShipmentPartyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+// Links shipments written without a carrier / shipper reference (rows from before the
+// normalisation, other writers of the table) to the normalised rows, creating those from the
+// distinct names first. A table from before the contact details moved to carriers / shippers
+// still has them in its carrier_contact, shipper_email and shipper_phone columns: every row is
+// then visited, its contacts fill in those the carrier / shipper does not have yet, and once the
+// whole table is done the columns are renamed to *_legacy (drop them afterwards), so later runs
+// skip this. Runs on its own thread once the application is up, one id range of batch-size rows
+// at a time (each step its own short transaction), so neither startup nor concurrent writers wait
+// on a statement over the whole table. Shipments not linked yet have no carrier / shipper until
+// their range is reached; an interrupted run resumes on the next startup.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShipmentPartyBackfill implements DisposableBean {
+
+    private static final List<String> CONTACT_COLUMNS = List.of("carrier_contact", "shipper_email", "shipper_phone");
+    private static final String LEGACY = "_legacy";
+
+    private static final String RANGE_SQL =
+        "SELECT MIN(id), MAX(id) FROM shipments WHERE %s IS NULL";
+
+    private static final String SPAN_SQL =
+        "SELECT MIN(id), MAX(id) FROM shipments";
+
+    private static final String UNLINKED_SQL =
+        "SELECT carrier_name, shipper_name FROM shipments " +
+        "WHERE id BETWEEN ? AND ? AND (carrier_id IS NULL OR shipper_id IS NULL)";
+
+    private static final String CONTACTS_SQL =
+        "SELECT carrier_name, shipper_name, carrier_contact, shipper_email, shipper_phone FROM shipments " +
+        "WHERE id BETWEEN ? AND ?";
+
+    private static final String LINK_CARRIERS_SQL =
+        "UPDATE shipments s SET carrier_id = (SELECT c.id FROM carriers c WHERE c.name = s.carrier_name) " +
+        "WHERE s.id BETWEEN ? AND ? AND s.carrier_id IS NULL";
+
+    private static final String LINK_SHIPPERS_SQL =
+        "UPDATE shipments s SET shipper_id = (SELECT p.id FROM shippers p WHERE p.name = s.shipper_name) " +
+        "WHERE s.id BETWEEN ? AND ? AND s.shipper_id IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShipmentPartyService shipmentPartyService;
+
+    @Value("${migration.party-backfill.batch-size}")
+    private int batchSize;
+
+    private volatile boolean stopped;
+    private Thread worker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        worker = Thread.ofPlatform().daemon().name("shipment-party-backfill").start(this::run);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        Thread running;
+        synchronized (this) {
+            stopped = true;
+            running = worker;
+        }
+        if (running != null) {
+            running.join();
+        }
+    }
+
+    void run() {
+        try {
+            boolean contacts = hasContactColumns();
+            Range range = contacts
+                ? span()
+                : Range.union(unlinked("carrier_id"), unlinked("shipper_id"));
+            if (range == null) {
+                retireContactColumns(contacts);
+                return;
+            }
+
+            long start = System.currentTimeMillis();
+            log.info("Linking shipments {}..{} to carriers and shippers{}, {} ids per batch", range.from(), range.to(),
+                contacts ? " and moving their contact details" : "", batchSize);
+            int[] totals = new int[2];
+            for (long from = range.from(); from <= range.to() && !stopped; from += batchSize) {
+                long to = Math.min(from + batchSize - 1, range.to());
+                int[] batch = linkRange(from, to, contacts);
+                totals[0] += batch[0];
+                totals[1] += batch[1];
+            }
+            log.info("{} {} shipments to carriers and {} to shippers in {} ms",
+                stopped ? "Stopped after linking" : "Linked", totals[0], totals[1], System.currentTimeMillis() - start);
+            if (!stopped) {
+                retireContactColumns(contacts);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Shipment party backfill failed, it resumes on the next startup: {}", e.getMessage());
+        }
+    }
+
+    // A writer linking the same new name at the same moment can make the insert fail on the unique
+    // name; the range is simply retried once, by which time that row exists
+    private int[] linkRange(long from, long to, boolean contacts) {
+        try {
+            return linkRangeOnce(from, to, contacts);
+        } catch (DataAccessException e) {
+            log.debug("Retrying shipments {}..{}: {}", from, to, e.getMessage());
+            return linkRangeOnce(from, to, contacts);
+        }
+    }
+
+    // The carriers / shippers are created through ShipmentPartyService, so their ids come from the
+    // same pooled sequences as the application's; contacts only fill in missing ones, never
+    // overwriting details the application has written since
+    private int[] linkRangeOnce(long from, long to, boolean contacts) {
+        List<Carrier> carriers = new ArrayList<>();
+        List<Shipper> shippers = new ArrayList<>();
+        jdbcTemplate.query(contacts ? CONTACTS_SQL : UNLINKED_SQL, rs -> {
+            carriers.add(Carrier.builder()
+                .name(rs.getString("carrier_name"))
+                .contact(contacts ? rs.getString("carrier_contact") : null)
+                .build());
+            shippers.add(Shipper.builder()
+                .name(rs.getString("shipper_name"))
+                .email(contacts ? rs.getString("shipper_email") : null)
+                .phone(contacts ? rs.getString("shipper_phone") : null)
+                .build());
+        }, from, to);
+        if (carriers.isEmpty()) {
+            return new int[2];
+        }
+
+        shipmentPartyService.saveCarriers(carriers, false);
+        shipmentPartyService.saveShippers(shippers, false);
+        return new int[] {
+            jdbcTemplate.update(LINK_CARRIERS_SQL, from, to),
+            jdbcTemplate.update(LINK_SHIPPERS_SQL, from, to)
+        };
+    }
+
+    private void retireContactColumns(boolean contacts) {
+        if (!contacts) {
+            return;
+        }
+        for (String column : CONTACT_COLUMNS) {
+            jdbcTemplate.execute("ALTER TABLE shipments RENAME COLUMN " + column + " TO " + column + LEGACY);
+        }
+        log.info("Moved shipment contact details to carriers and shippers; the old values remain in shipments.{}",
+            CONTACT_COLUMNS.stream().map(column -> column + LEGACY).collect(Collectors.joining(", ")));
+    }
+
+    private boolean hasContactColumns() {
+        return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String column : CONTACT_COLUMNS) {
+                try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null,
+                        identifier(metaData, "shipments"), identifier(metaData, column))) {
+                    if (!columns.next()) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        });
+    }
+
+    private Range span() {
+        return range(SPAN_SQL);
+    }
+
+    // Served by the carrier_id / shipper_id indexes; null when every row is linked
+    private Range unlinked(String column) {
+        return range(RANGE_SQL.formatted(column));
+    }
+
+    private Range range(String sql) {
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+            long from = rs.getLong(1);
+            return rs.wasNull() ? null : new Range(from, rs.getLong(2));
+        });
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase(Locale.ROOT) : name;
+    }
+
+    private record Range(long from, long to) {
+
+        static Range union(Range a, Range b) {
+            if (a == null || b == null) {
+                return a == null ? b : a;
+            }
+            return new Range(Math.min(a.from, b.from), Math.max(a.to, b.to));
+        }
+    }
+}
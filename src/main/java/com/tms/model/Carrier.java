@@ -0,0 +1,27 @@
+package com.tms.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+// One row per carrier name; the contact is shared by every shipment of that carrier
+@Entity
+@Table(name = "carriers")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Carrier {
+    
+    // Pooled sequence like Shipment, so the carriers created for a batch are inserted in one round trip
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "carrier_seq")
+    @SequenceGenerator(name = "carrier_seq", sequenceName = "carrier_seq", allocationSize = 50)
+    private Long id;
+    
+    @NotBlank(message = "Carrier name is required")
+    @Column(nullable = false, unique = true)
+    private String name;
+    
+    private String contact;
+}
@@ -0,0 +1,7 @@
+package com.tms.model;
+
+public enum ImportStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
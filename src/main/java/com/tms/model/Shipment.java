@@ -3,25 +3,37 @@ package com.tms.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "shipments", indexes = {
     @Index(name = "idx_shipment_number", columnList = "shipmentNumber"),
-    @Index(name = "idx_status", columnList = "status"),
+    // (equality, date) composites let the planning range filters seek; their leading column
+    // still serves status-only and carrier-only lookups
+    @Index(name = "idx_status_pickup_date", columnList = "status, pickupDate"),
     @Index(name = "idx_shipper_name", columnList = "shipperName"),
-    @Index(name = "idx_carrier_name", columnList = "carrierName")
+    @Index(name = "idx_carrier_delivery_date", columnList = "carrierName, deliveryDate"),
+    @Index(name = "idx_pickup_date", columnList = "pickupDate"),
+    @Index(name = "idx_delivery_date", columnList = "deliveryDate"),
+    @Index(name = "idx_created_at_id", columnList = "createdAt, id"),
+    @Index(name = "idx_carrier_id", columnList = "carrierId"),
+    @Index(name = "idx_shipper_id", columnList = "shipperId")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
-@Builder
+@Builder(toBuilder = true)
 public class Shipment {
     
+    // Pooled sequence instead of IDENTITY so Hibernate can assign ids up front and batch inserts;
+    // allocationSize must match the sequence increment
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shipment_seq")
+    @SequenceGenerator(name = "shipment_seq", sequenceName = "shipment_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Shipment number is required")
@@ -32,28 +44,28 @@ public class Shipment {
     @Column(nullable = false)
     private String shipperName;
     
-    @Email(message = "Invalid email format")
-    private String shipperEmail;
-    
-    private String shipperPhone;
+    // References to the normalised Shipper and Carrier rows, which hold the contact details, kept
+    // in step with the names by ShipmentPartyService; a plain id rather than an association so
+    // shipment reads never join. The names stay here as the sort, group and search key
+    private Long shipperId;
     
     @NotBlank(message = "Carrier name is required")
     @Column(nullable = false)
     private String carrierName;
     
-    private String carrierContact;
+    private Long carrierId;
     
     @NotBlank(message = "Pickup location is required")
     @Column(nullable = false)
     private String pickupLocation;
     
-    private String pickupDate;
+    private LocalDate pickupDate;
     
     @NotBlank(message = "Delivery location is required")
     @Column(nullable = false)
     private String deliveryLocation;
     
-    private String deliveryDate;
+    private LocalDate deliveryDate;
     
     private String trackingNumber;
     
@@ -77,6 +89,13 @@ public class Shipment {
     @Column(nullable = false)
     private Boolean flagged = false;
     
+    // Bumped by every write, JDBC batch updates included, so targeted updates can check that the
+    // row is still at the version they were computed from
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,60 @@
+package com.tms.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import java.time.LocalDateTime;
+
+// Progress of one CSV import. rowsCommitted is advanced in the same transaction as each chunk,
+// so a resumed import starts exactly after the last committed row. committedDigest is the SHA-256
+// of the header and those rows, so a resume with a different file is recognised.
+@Entity
+@Table(name = "shipment_imports")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShipmentImport {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private ImportStatus status = ImportStatus.RUNNING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long rowsCommitted = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long importedCount = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long skippedCount = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long failedCount = 0L;
+
+    @Column(length = 64)
+    private String committedDigest;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,30 @@
+package com.tms.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+// One row per shipper name; the email and phone are shared by every shipment of that shipper
+@Entity
+@Table(name = "shippers")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Shipper {
+    
+    // Pooled sequence like Shipment, so the shippers created for a batch are inserted in one round trip
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shipper_seq")
+    @SequenceGenerator(name = "shipper_seq", sequenceName = "shipper_seq", allocationSize = 50)
+    private Long id;
+    
+    @NotBlank(message = "Shipper name is required")
+    @Column(nullable = false, unique = true)
+    private String name;
+    
+    @Email(message = "Invalid email format")
+    private String email;
+    
+    private String phone;
+}
@@ -1,11 +1,13 @@
 package com.tms.model;
 
+import com.tms.cache.UserCacheInvalidator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheInvalidator.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,12 @@
+package com.tms.repository;
+
+import com.tms.model.Carrier;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CarrierRepository extends JpaRepository<Carrier, Long> {
+    List<Carrier> findByNameIn(Collection<String> names);
+}
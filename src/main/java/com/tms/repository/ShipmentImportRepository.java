@@ -0,0 +1,9 @@
+package com.tms.repository;
+
+import com.tms.model.ShipmentImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ShipmentImportRepository extends JpaRepository<ShipmentImport, Long> {
+}
@@ -0,0 +1,40 @@
+package com.tms.repository;
+
+import com.tms.dto.CarrierStats;
+import com.tms.dto.StatusCount;
+import com.tms.model.Shipment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface ShipmentRepositoryCustom {
+    
+    // Tuple queries over the given attributes only; the returned shipments are plain, unmanaged
+    // objects with just those attributes (and id) populated
+    Page<Shipment> findAllProjected(Specification<Shipment> spec, Pageable pageable, Collection<String> attributes);
+    
+    List<Shipment> findAllProjected(Specification<Shipment> spec, Sort sort, int limit, Collection<String> attributes);
+    
+    // GROUP BY aggregates over the shipments matching spec
+    List<StatusCount> countByStatus(Specification<Shipment> spec);
+    
+    List<CarrierStats> sumByCarrier(Specification<Shipment> spec);
+    
+    // Walks every matching shipment in id order over a forward-only cursor in a stateless session;
+    // nothing is kept in a persistence context, so memory stays flat however many rows match
+    long scrollAll(Specification<Shipment> spec, int fetchSize, Consumer<Shipment> action);
+    
+    // Loads and immediately detaches, so a later read in the same transaction goes back to the database
+    Optional<Shipment> findDetached(Long id);
+    
+    // UPDATE of just the given attributes, plus version + 1 and updatedAt, without loading the row.
+    // Returns 0 when the row is gone or no longer at the given version.
+    int updateIfVersion(Long id, Long version, Map<String, Object> changes, LocalDateTime updatedAt);
+}
@@ -0,0 +1,209 @@
+package com.tms.repository;
+
+import com.tms.dto.CarrierStats;
+import com.tms.dto.StatusCount;
+import com.tms.model.Shipment;
+import com.tms.model.ShipmentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class ShipmentRepositoryCustomImpl implements ShipmentRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Page<Shipment> findAllProjected(Specification<Shipment> spec, Pageable pageable, Collection<String> attributes) {
+        TypedQuery<Tuple> query = createQuery(spec, pageable.getSort(), attributes);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Shipment> content = toShipments(query.getResultList());
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+    
+    @Override
+    public List<Shipment> findAllProjected(Specification<Shipment> spec, Sort sort, int limit, Collection<String> attributes) {
+        return toShipments(createQuery(spec, sort, attributes).setMaxResults(limit).getResultList());
+    }
+    
+    @Override
+    public List<StatusCount> countByStatus(Specification<Shipment> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Shipment> root = query.from(Shipment.class);
+        
+        Expression<ShipmentStatus> status = root.get("status");
+        query.multiselect(status, cb.count(root)).groupBy(status).orderBy(cb.asc(status));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getResultList().stream()
+            .map(tuple -> new StatusCount(tuple.get(0, ShipmentStatus.class), tuple.get(1, Long.class)))
+            .toList();
+    }
+    
+    @Override
+    public List<CarrierStats> sumByCarrier(Specification<Shipment> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Shipment> root = query.from(Shipment.class);
+        
+        Expression<String> carrierName = root.get("carrierName");
+        query.multiselect(
+            carrierName,
+            cb.count(root),
+            cb.coalesce(cb.sum(root.<Double>get("rate")), 0.0),
+            cb.coalesce(cb.sum(root.<Double>get("weight")), 0.0)
+        ).groupBy(carrierName).orderBy(cb.asc(carrierName));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getResultList().stream()
+            .map(tuple -> new CarrierStats(
+                tuple.get(0, String.class),
+                tuple.get(1, Long.class),
+                tuple.get(2, Double.class),
+                tuple.get(3, Double.class)))
+            .toList();
+    }
+    
+    @Override
+    public long scrollAll(Specification<Shipment> spec, int fetchSize, Consumer<Shipment> action) {
+        SessionFactory sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+            CriteriaQuery<Shipment> query = cb.createQuery(Shipment.class);
+            Root<Shipment> root = query.from(Shipment.class);
+            
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+            query.orderBy(cb.asc(root.get("id")));
+            
+            // Read-only transaction so drivers that need autocommit off (e.g. PostgreSQL) use a real cursor
+            Transaction transaction = session.beginTransaction();
+            try (ScrollableResults<Shipment> results = session.createQuery(query)
+                    .setFetchSize(fetchSize)
+                    .setReadOnly(true)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                long count = 0;
+                while (results.next()) {
+                    action.accept(results.get());
+                    count++;
+                }
+                return count;
+            } finally {
+                transaction.rollback();
+            }
+        }
+    }
+    
+    @Override
+    public Optional<Shipment> findDetached(Long id) {
+        Shipment shipment = entityManager.find(Shipment.class, id);
+        if (shipment != null) {
+            entityManager.detach(shipment);
+        }
+        return Optional.ofNullable(shipment);
+    }
+    
+    @Override
+    public int updateIfVersion(Long id, Long version, Map<String, Object> changes, LocalDateTime updatedAt) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Shipment> update = cb.createCriteriaUpdate(Shipment.class);
+        Root<Shipment> root = update.from(Shipment.class);
+        
+        changes.forEach(update::set);
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        update.set(root.<LocalDateTime>get("updatedAt"), updatedAt);
+        update.where(cb.equal(root.get("id"), id), cb.equal(root.get("version"), version));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+    
+    private TypedQuery<Tuple> createQuery(Specification<Shipment> spec, Sort sort, Collection<String> attributes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Shipment> root = query.from(Shipment.class);
+        
+        query.multiselect(basicAttributes(attributes).stream()
+            .<Selection<?>>map(attribute -> root.get(attribute).alias(attribute))
+            .toList());
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+    
+    private long count(Specification<Shipment> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Shipment> root = query.from(Shipment.class);
+        
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+    
+    // Keeps id plus the requested names that are basic Shipment attributes; anything else
+    // (e.g. __typename) has no column to select
+    private Set<String> basicAttributes(Collection<String> attributes) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        entityManager.getMetamodel().entity(Shipment.class).getSingularAttributes().stream()
+            .filter(attribute -> attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC)
+            .map(Attribute::getName)
+            .filter(attributes::contains)
+            .forEach(selected::add);
+        return selected;
+    }
+    
+    private List<Shipment> toShipments(List<Tuple> tuples) {
+        return tuples.stream().map(tuple -> {
+            Shipment shipment = new Shipment();
+            BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(shipment);
+            tuple.getElements().forEach(element -> wrapper.setPropertyValue(element.getAlias(), tuple.get(element)));
+            return shipment;
+        }).toList();
+    }
+}
@@ -0,0 +1,131 @@
+package com.tms.repository;
+
+import com.tms.dto.ShipmentFilter;
+import com.tms.model.Shipment;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+public final class ShipmentSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private ShipmentSpecifications() {
+    }
+
+    // Only the supplied filter fields become predicates, so every filter shape gets its own SQL
+    // text (and plan) instead of one generic "(:p IS NULL OR ...)" statement
+    public static Specification<Shipment> matching(ShipmentFilter filter) {
+        if (filter == null) {
+            return Specification.where(null);
+        }
+        return Specification.allOf(
+            containsIgnoreCase("shipperName", filter.getShipperName()),
+            containsIgnoreCase("carrierName", filter.getCarrierName()),
+            equalTo("status", filter.getStatus()),
+            containsIgnoreCase("pickupLocation", filter.getPickupLocation()),
+            containsIgnoreCase("deliveryLocation", filter.getDeliveryLocation()),
+            equalTo("flagged", filter.getFlagged()),
+            between("rate", filter.getMinRate(), filter.getMaxRate()),
+            between("pickupDate", filter.getPickupFrom(), filter.getPickupTo()),
+            between("deliveryDate", filter.getDeliveryFrom(), filter.getDeliveryTo()),
+            createdOn(filter.getCreatedFrom(), filter.getCreatedTo())
+        );
+    }
+
+    public static Specification<Shipment> flagged() {
+        return (root, query, cb) -> cb.isTrue(root.get("flagged"));
+    }
+    
+    public static Specification<Shipment> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
+    // Keyset seek: rows strictly after (value, id), with id as tie-breaker for repeated sort values
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Specification<Shipment> seekAfter(String sortKey, Comparable value, Long id, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            Path<Long> idPath = root.get("id");
+            Predicate idAfter = direction.isAscending() ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+            if ("id".equals(sortKey)) {
+                return idAfter;
+            }
+            Expression<Comparable> keyPath = root.get(sortKey);
+            Predicate keyAfter = direction.isAscending()
+                ? cb.greaterThan(keyPath, value)
+                : cb.lessThan(keyPath, value);
+            return cb.or(keyAfter, cb.and(cb.equal(keyPath, value), idAfter));
+        };
+    }
+
+    // A plain substring match like ShipmentFilter.matches: % and _ in the value are matched literally
+    private static Specification<Shipment> containsIgnoreCase(String attribute, String value) {
+        if (value == null) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(value.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get(attribute)), pattern, LIKE_ESCAPE);
+    }
+
+    static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static Specification<Shipment> equalTo(String attribute, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    // Open-ended on either side when a bound is missing
+    private static <T extends Comparable<? super T>> Specification<Shipment> between(String attribute, T from, T to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<T> path = root.get(attribute);
+            if (from == null) {
+                return cb.lessThanOrEqualTo(path, to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(path, from);
+            }
+            return cb.between(path, from, to);
+        };
+    }
+
+    // createdAt is a timestamp: whole days from..to as a half-open range on the raw column, so
+    // idx_created_at_id can be range-scanned (casting the column to a date would defeat it)
+    private static Specification<Shipment> createdOn(LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<LocalDateTime> path = root.get("createdAt");
+            if (from == null) {
+                return cb.lessThan(path, to.plusDays(1).atStartOfDay());
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(path, from.atStartOfDay());
+            }
+            return cb.and(
+                cb.greaterThanOrEqualTo(path, from.atStartOfDay()),
+                cb.lessThan(path, to.plusDays(1).atStartOfDay()));
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.tms.repository;
+
+import com.tms.model.Shipper;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ShipperRepository extends JpaRepository<Shipper, Long> {
+    List<Shipper> findByNameIn(Collection<String> names);
+}
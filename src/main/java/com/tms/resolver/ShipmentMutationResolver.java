@@ -1,12 +1,17 @@
 package com.tms.resolver;
 
 import com.tms.dto.AuthPayload;
+import com.tms.dto.ShipmentBatchResult;
 import com.tms.dto.ShipmentInput;
+import com.tms.dto.ShipmentPatch;
+import com.tms.dto.ShipmentStatusUpdate;
 import com.tms.model.Shipment;
+import com.tms.model.ShipmentStatus;
 import com.tms.model.User;
-import com.tms.repository.UserRepository;
 import com.tms.security.JwtUtil;
+import com.tms.service.ShipmentBatchService;
 import com.tms.service.ShipmentService;
+import com.tms.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +22,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
+import java.util.List;
 
 @Controller
 @RequiredArgsConstructor
@@ -24,16 +30,19 @@ import org.springframework.stereotype.Controller;
 public class ShipmentMutationResolver {
     
     private final ShipmentService shipmentService;
+    private final ShipmentBatchService shipmentBatchService;
     private final AuthenticationManager authenticationManager;
-    private final UserRepository userRepository;
+    private final UserService userService;
     private final JwtUtil jwtUtil;
     
     @MutationMapping
     public AuthPayload login(@Argument String username, @Argument String password) {
         log.info("Mutation: login for user: {}", username);
 
-        User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = userService.findByUsername(username);
+        if (user == null) {
+            throw new RuntimeException("User not found");
+        }
 
         String token = jwtUtil.generateToken(username, user.getRole().name());
 
@@ -70,4 +79,39 @@ public class ShipmentMutationResolver {
         log.info("Mutation: flagShipment with id: {} as {}", id, flagged);
         return shipmentService.flagShipment(id, flagged);
     }
+    
+    @MutationMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public Shipment patchShipment(@Argument Long id, @Argument @Valid ShipmentPatch patch, @Argument Long expectedVersion) {
+        log.info("Mutation: patchShipment with id: {}", id);
+        return shipmentService.patchShipment(id, patch, expectedVersion);
+    }
+    
+    @MutationMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public Shipment updateShipmentStatus(@Argument Long id, @Argument ShipmentStatus status, @Argument Long expectedVersion) {
+        log.info("Mutation: updateShipmentStatus with id: {} to {}", id, status);
+        return shipmentService.updateShipmentStatus(id, status, expectedVersion);
+    }
+    
+    @MutationMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public ShipmentBatchResult createShipments(@Argument List<ShipmentInput> inputs) {
+        log.info("Mutation: createShipments with {} inputs", inputs.size());
+        return shipmentBatchService.createShipments(inputs);
+    }
+    
+    @MutationMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public ShipmentBatchResult updateShipmentStatuses(@Argument List<ShipmentStatusUpdate> updates) {
+        log.info("Mutation: updateShipmentStatuses with {} updates", updates.size());
+        return shipmentBatchService.updateShipmentStatuses(updates);
+    }
+    
+    @MutationMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public ShipmentBatchResult flagShipments(@Argument List<Long> ids, @Argument Boolean flagged) {
+        log.info("Mutation: flagShipments with {} ids as {}", ids.size(), flagged);
+        return shipmentBatchService.flagShipments(ids, flagged);
+    }
 }
@@ -0,0 +1,55 @@
+package com.tms.resolver;
+
+import com.tms.model.Carrier;
+import com.tms.model.Shipment;
+import com.tms.model.Shipper;
+import com.tms.service.ShipmentPartyService;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+import java.util.concurrent.CompletableFuture;
+
+// Shipment.carrier / Shipment.shipper, and the contact fields stored on them, through DataLoaders
+// keyed by id: the loads for a page are collected and issued as one lookup per type, and each
+// request's loader cache serves repeated ids (many shipments share a carrier) without loading them again
+@Controller
+public class ShipmentPartyResolver {
+
+    public ShipmentPartyResolver(BatchLoaderRegistry registry, ShipmentPartyService shipmentPartyService) {
+        registry.forTypePair(Long.class, Carrier.class)
+            .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> shipmentPartyService.findCarriers(ids)));
+        registry.forTypePair(Long.class, Shipper.class)
+            .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> shipmentPartyService.findShippers(ids)));
+    }
+
+    @SchemaMapping(typeName = "Shipment")
+    public CompletableFuture<Carrier> carrier(Shipment shipment, DataLoader<Long, Carrier> loader) {
+        return shipment.getCarrierId() != null
+            ? loader.load(shipment.getCarrierId())
+            : CompletableFuture.completedFuture(null);
+    }
+
+    @SchemaMapping(typeName = "Shipment")
+    public CompletableFuture<Shipper> shipper(Shipment shipment, DataLoader<Long, Shipper> loader) {
+        return shipment.getShipperId() != null
+            ? loader.load(shipment.getShipperId())
+            : CompletableFuture.completedFuture(null);
+    }
+
+    @SchemaMapping(typeName = "Shipment")
+    public CompletableFuture<String> carrierContact(Shipment shipment, DataLoader<Long, Carrier> loader) {
+        return carrier(shipment, loader).thenApply(carrier -> carrier != null ? carrier.getContact() : null);
+    }
+
+    @SchemaMapping(typeName = "Shipment")
+    public CompletableFuture<String> shipperEmail(Shipment shipment, DataLoader<Long, Shipper> loader) {
+        return shipper(shipment, loader).thenApply(shipper -> shipper != null ? shipper.getEmail() : null);
+    }
+
+    @SchemaMapping(typeName = "Shipment")
+    public CompletableFuture<String> shipperPhone(Shipment shipment, DataLoader<Long, Shipper> loader) {
+        return shipper(shipment, loader).thenApply(shipper -> shipper != null ? shipper.getPhone() : null);
+    }
+}
@@ -1,56 +1,130 @@
 package com.tms.resolver;
 
 import com.tms.dto.PageInput;
+import com.tms.dto.ShipmentConnection;
 import com.tms.dto.ShipmentFilter;
 import com.tms.dto.ShipmentPage;
+import com.tms.dto.ShipmentStats;
 import com.tms.model.Shipment;
 import com.tms.model.User;
+import com.tms.model.UserRole;
 import com.tms.service.ShipmentService;
 import com.tms.service.UserService;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
 
 @Controller
 @RequiredArgsConstructor
 @Slf4j
 public class ShipmentQueryResolver {
     
+    private static final Set<String> CLAIM_FIELDS = Set.of("username", "role", "__typename");
+    private static final Map<String, String> PARTY_REFERENCES = Map.of(
+        "carrier", "carrierId", "carrierContact", "carrierId",
+        "shipper", "shipperId", "shipperEmail", "shipperId", "shipperPhone", "shipperId");
+    
     private final ShipmentService shipmentService;
     private final UserService userService;
     
     @QueryMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
-    public ShipmentPage shipments(
+    public Callable<ShipmentPage> shipments(
             @Argument ShipmentFilter filter,
             @Argument PageInput page,
             @Argument String sortBy,
-            @Argument String sortDirection) {
+            @Argument String sortDirection,
+            DataFetchingFieldSelectionSet selectionSet) {
         
         log.info("Query: shipments with filter: {}", filter);
-        return ShipmentPage.from(
-            shipmentService.findShipments(filter, page, sortBy, sortDirection)
+        Set<String> fields = selectedFields(selectionSet, "content/*");
+        return () -> ShipmentPage.from(
+            shipmentService.findShipments(filter, page, sortBy, sortDirection, fields)
         );
     }
     
     @QueryMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
-    public Shipment shipment(@Argument Long id) {
+    public Callable<ShipmentConnection> shipmentsConnection(
+            @Argument ShipmentFilter filter,
+            @Argument Integer first,
+            @Argument String after,
+            @Argument String sortBy,
+            @Argument String sortDirection,
+            DataFetchingFieldSelectionSet selectionSet) {
+        
+        log.info("Query: shipmentsConnection with filter: {}, after: {}", filter, after);
+        Set<String> fields = selectedFields(selectionSet, "edges/node/*");
+        return () -> shipmentService.findShipmentsConnection(filter, first, after, sortBy, sortDirection, fields);
+    }
+    
+    @SchemaMapping(typeName = "ShipmentConnection")
+    public Callable<Long> totalCount(ShipmentConnection connection) {
+        return () -> shipmentService.countShipments(connection.getFilter());
+    }
+    
+    @QueryMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public Callable<ShipmentStats> shipmentStats(@Argument ShipmentFilter filter) {
+        log.info("Query: shipmentStats with filter: {}", filter);
+        return () -> shipmentService.getShipmentStats(filter);
+    }
+    
+    @QueryMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public Callable<Shipment> shipment(@Argument Long id) {
         log.info("Query: shipment with id: {}", id);
-        return shipmentService.findById(id);
+        return () -> shipmentService.findById(id);
     }
     
+    // username and role are already in the verified JWT, so a selection of only those is answered
+    // without a lookup; other fields come from the (cached) user record
     @QueryMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
-    public User me() {
+    public Callable<User> me(DataFetchingFieldSelectionSet selectionSet) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
         log.info("Query: me for user: {}", username);
-        return userService.findByUsername(username);
+        boolean claimsOnly = selectionSet.getImmediateFields().stream()
+            .allMatch(field -> CLAIM_FIELDS.contains(field.getName()));
+        if (claimsOnly) {
+            User user = User.builder()
+                .username(username)
+                .role(roleOf(auth))
+                .build();
+            return () -> user;
+        }
+        return () -> userService.findByUsername(username);
+    }
+    
+    private static UserRole roleOf(Authentication auth) {
+        return auth.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .filter(authority -> authority.startsWith("ROLE_"))
+            .map(authority -> UserRole.valueOf(authority.substring("ROLE_".length())))
+            .findFirst()
+            .orElse(null);
+    }
+    
+    // Shipment fields the client asked for, used to project list queries down to those columns;
+    // carrier, shipper and their contact fields are resolved by ShipmentPartyResolver from the reference columns
+    private static Set<String> selectedFields(DataFetchingFieldSelectionSet selectionSet, String glob) {
+        return selectionSet.getFields(glob).stream()
+            .map(SelectedField::getName)
+            .map(name -> PARTY_REFERENCES.getOrDefault(name, name))
+            .collect(Collectors.toSet());
     }
 }
@@ -0,0 +1,34 @@
+package com.tms.resolver;
+
+import com.tms.dto.ShipmentFilter;
+import com.tms.event.ShipmentEventBus;
+import com.tms.model.Shipment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+
+@Controller
+@RequiredArgsConstructor
+@Slf4j
+public class ShipmentSubscriptionResolver {
+    
+    private final ShipmentEventBus shipmentEventBus;
+    
+    @SubscriptionMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public Flux<Shipment> shipmentUpdated(@Argument ShipmentFilter filter) {
+        log.info("Subscription: shipmentUpdated with filter: {}", filter);
+        return shipmentEventBus.updates(filter);
+    }
+    
+    @SubscriptionMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public Flux<Shipment> shipmentStatusChanged(@Argument Long id) {
+        log.info("Subscription: shipmentStatusChanged for id: {}", id);
+        return shipmentEventBus.statusChanges(id);
+    }
+}
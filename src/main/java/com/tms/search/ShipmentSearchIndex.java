@@ -0,0 +1,184 @@
+package com.tms.search;
+
+import com.tms.dto.ShipmentFilter;
+import com.tms.event.ShipmentChange;
+import com.tms.event.ShipmentChangedEvent;
+import com.tms.model.Shipment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+// Trigram inverted index over the substring-searchable shipment columns. A query fragment of
+// three or more characters is answered by intersecting the posting bitmaps of its trigrams
+// (64-bit, so any id the column can hold), which yields a small candidate id set for the database to verify with the original LIKE.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShipmentSearchIndex implements SmartInitializingSingleton {
+
+    private static final int GRAM = 3;
+
+    private static final String LOAD_SQL =
+        "SELECT id, shipper_name, carrier_name, pickup_location, delivery_location FROM shipments";
+
+    enum Field {
+        SHIPPER_NAME("shipper_name", Shipment::getShipperName, ShipmentFilter::getShipperName),
+        CARRIER_NAME("carrier_name", Shipment::getCarrierName, ShipmentFilter::getCarrierName),
+        PICKUP_LOCATION("pickup_location", Shipment::getPickupLocation, ShipmentFilter::getPickupLocation),
+        DELIVERY_LOCATION("delivery_location", Shipment::getDeliveryLocation, ShipmentFilter::getDeliveryLocation);
+
+        private final String column;
+        private final Function<Shipment, String> value;
+        private final Function<ShipmentFilter, String> fragment;
+
+        Field(String column, Function<Shipment, String> value, Function<ShipmentFilter, String> fragment) {
+            this.column = column;
+            this.value = value;
+            this.fragment = fragment;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Field, Map<String, Roaring64Bitmap>> postings = new EnumMap<>(Field.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @Value("${search.index.enabled}")
+    private boolean enabled;
+
+    @Value("${search.index.max-candidates}")
+    private int maxCandidates;
+
+    // Built before the web server starts, so no mutation can interleave with the initial load
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            log.info("Shipment search index disabled");
+            return;
+        }
+        for (Field field : Field.values()) {
+            postings.put(field, new HashMap<>());
+        }
+
+        long start = System.currentTimeMillis();
+        int[] rows = {0};
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            long id = rs.getLong("id");
+            for (Field field : Field.values()) {
+                add(field, id, rs.getString(field.column));
+            }
+            rows[0]++;
+        });
+        ready = true;
+        log.info("Shipment search index built over {} rows in {} ms", rows[0], System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentChanged(ShipmentChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (ShipmentChange change : event.getChanges()) {
+                for (Field field : Field.values()) {
+                    if (change.getBefore() != null) {
+                        remove(field, change.getBefore().getId(), field.value.apply(change.getBefore()));
+                    }
+                    if (change.getAfter() != null) {
+                        add(field, change.getAfter().getId(), field.value.apply(change.getAfter()));
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Candidate ids for the text predicates of the filter, or empty when the index cannot help
+    // (index not ready, no fragment long enough, or too many candidates to be selective)
+    public Optional<Set<Long>> candidates(ShipmentFilter filter) {
+        if (!ready || filter == null) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap result = null;
+            for (Field field : Field.values()) {
+                String fragment = field.fragment.apply(filter);
+                if (fragment == null || fragment.length() < GRAM) {
+                    continue;
+                }
+                Map<String, Roaring64Bitmap> fieldPostings = postings.get(field);
+                for (String gram : grams(fragment)) {
+                    Roaring64Bitmap posting = fieldPostings.get(gram);
+                    if (posting == null) {
+                        return Optional.of(Set.of());
+                    }
+                    if (result == null) {
+                        result = posting.clone();
+                    } else {
+                        result.and(posting);
+                    }
+                }
+            }
+            if (result == null || result.getLongCardinality() > maxCandidates) {
+                return Optional.empty();
+            }
+
+            Set<Long> ids = new HashSet<>((int) result.getLongCardinality());
+            result.forEach(ids::add);
+            return Optional.of(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Field field, long id, String value) {
+        for (String gram : grams(value)) {
+            postings.get(field).computeIfAbsent(gram, key -> new Roaring64Bitmap()).addLong(id);
+        }
+    }
+
+    private void remove(Field field, long id, String value) {
+        Map<String, Roaring64Bitmap> fieldPostings = postings.get(field);
+        for (String gram : grams(value)) {
+            Roaring64Bitmap posting = fieldPostings.get(gram);
+            if (posting != null) {
+                posting.removeLong(id);
+                if (posting.isEmpty()) {
+                    fieldPostings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        if (value == null || value.length() < GRAM) {
+            return Set.of();
+        }
+        String normalized = value.toLowerCase(Locale.ROOT);
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,148 @@
+package com.tms.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Per-caller token buckets, applied after JwtAuthenticationFilter so authenticated requests are
+// keyed by username. Anonymous /graphql requests (login, but also introspection and APQ
+// registration, which are not told apart without reading the body) are keyed by client IP under
+// the login limit. The client IP is the connection's address, or, when forwarded headers are
+// enabled (server.forward-headers-strategy), the one Tomcat's RemoteIpValve resolves from
+// X-Forwarded-For sent by one of the configured internal proxies, so clients behind a hosting
+// router get their own buckets and cannot spoof one. Buckets live in a
+// bounded map and are dropped once idle; a dropped bucket would have refilled by then anyway.
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    enum Operation {
+        GRAPHQL("graphql"), LOGIN("login"), EXPORT("export"), IMPORT("import");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+    }
+
+    private record Limit(double perSecond, int burst) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String graphqlPath;
+    private final Map<Operation, Limit> limits = new EnumMap<>(Operation.class);
+    private final Map<Operation, Counter> admitted = new EnumMap<>(Operation.class);
+    private final Map<Operation, Counter> throttled = new EnumMap<>(Operation.class);
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimitFilter(
+            ObjectMapper objectMapper,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${rate-limit.enabled}") boolean enabled,
+            @Value("${rate-limit.max-tracked-callers}") long maxTrackedCallers,
+            @Value("${rate-limit.idle-expiry}") Duration idleExpiry,
+            @Value("${spring.graphql.path}") String graphqlPath
+    ) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.graphqlPath = graphqlPath;
+        for (Operation operation : Operation.values()) {
+            String prefix = "rate-limit." + operation.key;
+            limits.put(operation, new Limit(
+                    environment.getRequiredProperty(prefix + ".per-second", Double.class),
+                    environment.getRequiredProperty(prefix + ".burst", Integer.class)));
+            admitted.put(operation, requestCounter(meterRegistry, operation, "admitted"));
+            throttled.put(operation, requestCounter(meterRegistry, operation, "throttled"));
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedCallers)
+                .expireAfterAccess(idleExpiry)
+                .build();
+        meterRegistry.gauge("rate.limit.callers", buckets, Cache::estimatedSize);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !enabled
+            || HttpMethod.OPTIONS.matches(request.getMethod())
+            || !(graphqlPath.equals(path) || path.startsWith("/api/"));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Operation operation = operationOf(request.getServletPath(), authentication);
+        String caller = authentication != null ? "user:" + authentication.getName() : "ip:" + request.getRemoteAddr();
+        Limit limit = limits.get(operation);
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(operation.key + "|" + caller, key -> new TokenBucket(limit.perSecond(), limit.burst(), now));
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos == 0) {
+            admitted.get(operation).increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        throttled.get(operation).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        log.warn("Rate limited {} request from {}; retry after {}s", operation.key, caller, retryAfterSeconds);
+
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS,
+                "Rate limit of " + limit.perSecond() + " requests/s (burst " + limit.burst() + ") exceeded for " + operation.key);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problem);
+    }
+
+    private Operation operationOf(String path, Authentication authentication) {
+        if (path.startsWith("/api/shipments/export")) {
+            return Operation.EXPORT;
+        }
+        if (path.startsWith("/api/shipments/import")) {
+            return Operation.IMPORT;
+        }
+        return authentication != null ? Operation.GRAPHQL : Operation.LOGIN;
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, Operation operation, String outcome) {
+        return Counter.builder("rate.limit.requests")
+                .description("Requests checked against per-caller rate limits")
+                .tag("operation", operation.key)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,60 @@
+package com.tms.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.graphql.server.WebSocketGraphQlInterceptor;
+import org.springframework.graphql.server.WebSocketSessionInfo;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import java.util.Collections;
+import java.util.Map;
+
+// Browsers cannot set headers on a WebSocket handshake, so graphql-ws clients send the bearer token
+// in the connection_init payload instead. Spring GraphQL restores the ThreadLocal snapshot taken at
+// the handshake around every message of the session; adding the verified SecurityContext to that
+// snapshot lets @PreAuthorize on subscription resolvers see the caller as it does over HTTP.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WebSocketAuthenticationInterceptor implements WebSocketGraphQlInterceptor {
+
+    private static final String CONTEXT_SNAPSHOT_ATTRIBUTE = ContextSnapshot.class.getName();
+    private static final ContextSnapshotFactory SNAPSHOT_FACTORY = ContextSnapshotFactory.builder().build();
+
+    private final JwtUtil jwtUtil;
+
+    @Override
+    @NonNull
+    public Mono<Object> handleConnectionInitialization(@NonNull WebSocketSessionInfo sessionInfo, @NonNull Map<String, Object> payload) {
+        if (payload.get("Authorization") instanceof String header && header.startsWith("Bearer ")) {
+            try {
+                Claims claims = jwtUtil.parseToken(header.substring(7));
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    claims.getSubject(),
+                    null,
+                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + claims.get("role", String.class)))
+                );
+
+                Map<String, Object> attributes = sessionInfo.getAttributes();
+                Context context = attributes.get(CONTEXT_SNAPSHOT_ATTRIBUTE) instanceof ContextSnapshot handshake
+                    ? handshake.updateContext(Context.empty())
+                    : Context.empty();
+                attributes.put(CONTEXT_SNAPSHOT_ATTRIBUTE, SNAPSHOT_FACTORY.captureFrom(
+                    context.put(SecurityContext.class.getName(), new SecurityContextImpl(authToken))));
+            } catch (JwtException e) {
+                log.error("WebSocket JWT authentication error: {}", e.getMessage());
+            }
+        }
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,247 @@
+package com.tms.service;
+
+import com.tms.cache.ShipmentCacheInvalidator;
+import com.tms.dto.ShipmentBatchError;
+import com.tms.dto.ShipmentBatchResult;
+import com.tms.dto.ShipmentInput;
+import com.tms.dto.ShipmentStatusUpdate;
+import com.tms.event.ShipmentChange;
+import com.tms.event.ShipmentChangedEvent;
+import com.tms.model.Shipment;
+import com.tms.repository.ShipmentRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ShipmentBatchService {
+
+    private static final String UPDATE_STATUS_SQL =
+        "UPDATE shipments SET status = ?, updated_at = ?, version = version + 1 WHERE id = ?";
+
+    private static final String UPDATE_FLAGGED_SQL =
+        "UPDATE shipments SET flagged = ?, updated_at = ?, version = version + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShipmentRepository shipmentRepository;
+    private final ShipmentPartyService shipmentPartyService;
+    private final ShipmentCacheInvalidator shipmentCacheInvalidator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+
+    @Value("${batch.chunk-size}")
+    private int chunkSize;
+
+    public ShipmentBatchResult createShipments(List<ShipmentInput> inputs) {
+        log.info("Batch creating {} shipments", inputs.size());
+
+        ShipmentBatchResult result = new ShipmentBatchResult();
+        List<Item<ShipmentInput>> valid = new ArrayList<>();
+        Set<String> seenNumbers = new HashSet<>();
+
+        for (int i = 0; i < inputs.size(); i++) {
+            ShipmentInput input = inputs.get(i);
+            Set<ConstraintViolation<ShipmentInput>> violations = validator.validate(input);
+            if (!violations.isEmpty()) {
+                result.addError(i, null, "Validation error: " + violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            } else if (!seenNumbers.add(input.getShipmentNumber())) {
+                result.addError(i, null, "Duplicate shipment number in batch: " + input.getShipmentNumber());
+            } else {
+                valid.add(new Item<>(i, null, input));
+            }
+        }
+
+        return process(valid, result, this::insertChunk);
+    }
+
+    public ShipmentBatchResult updateShipmentStatuses(List<ShipmentStatusUpdate> updates) {
+        log.info("Batch updating status of {} shipments", updates.size());
+
+        ShipmentBatchResult result = new ShipmentBatchResult();
+        List<Item<ShipmentStatusUpdate>> valid = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            ShipmentStatusUpdate update = updates.get(i);
+            if (update.getId() == null || update.getStatus() == null) {
+                result.addError(i, update.getId(), "Validation error: id and status are required");
+            } else {
+                valid.add(new Item<>(i, update.getId(), update));
+            }
+        }
+
+        return process(valid, result, chunk -> updateChunk(
+            chunk,
+            UPDATE_STATUS_SQL,
+            update -> update.getStatus().name(),
+            (shipment, update) -> shipment.toBuilder().status(update.getStatus()).build()
+        ));
+    }
+
+    public ShipmentBatchResult flagShipments(List<Long> ids, Boolean flagged) {
+        log.info("Batch flagging {} shipments as {}", ids.size(), flagged);
+
+        List<Item<Long>> items = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            items.add(new Item<>(i, ids.get(i), ids.get(i)));
+        }
+
+        return process(items, new ShipmentBatchResult(), chunk -> updateChunk(
+            chunk,
+            UPDATE_FLAGGED_SQL,
+            id -> flagged,
+            (shipment, id) -> shipment.toBuilder().flagged(flagged).build()
+        ));
+    }
+
+    // Commits each chunk in its own transaction. A failed chunk is retried row by row so the
+    // offending items can be reported without failing the rest; any exception counts, not only
+    // database errors (e.g. a null value or a failed commit). Each committed chunk (or retried item)
+    // publishes its changes right away, so subscribers, caches and stats see a long batch as it
+    // progresses, and nothing committed is left unpublished if a later chunk throws.
+    private <T> ShipmentBatchResult process(List<Item<T>> items, ShipmentBatchResult result, ChunkWriter<T> writer) {
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<Item<T>> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            try {
+                committed(transactionTemplate.execute(status -> writer.write(chunk)), result);
+            } catch (RuntimeException e) {
+                log.warn("Batch chunk of {} items failed, retrying item by item: {}", chunk.size(), e.toString());
+                for (Item<T> item : chunk) {
+                    try {
+                        committed(transactionTemplate.execute(status -> writer.write(List.of(item))), result);
+                    } catch (RuntimeException itemError) {
+                        Throwable cause = NestedExceptionUtils.getMostSpecificCause(itemError);
+                        result.addError(item.index(), item.id(), cause.getMessage() != null ? cause.getMessage() : cause.toString());
+                    }
+                }
+            }
+        }
+
+        result.getErrors().sort(Comparator.comparing(ShipmentBatchError::getIndex));
+        return result;
+    }
+
+    private void committed(ChunkOutcome outcome, ShipmentBatchResult result) {
+        result.merge(outcome.result);
+        if (!outcome.changes.isEmpty()) {
+            eventPublisher.publishEvent(new ShipmentChangedEvent(outcome.changes));
+            shipmentCacheInvalidator.evictEntities(outcome.result.getIds());
+        }
+    }
+
+    // Ids come from the pooled shipment sequence, so Hibernate batches these inserts (hibernate.jdbc.batch_size)
+    private ChunkOutcome insertChunk(List<Item<ShipmentInput>> chunk) {
+        ChunkOutcome outcome = new ChunkOutcome();
+
+        Set<String> existing = shipmentRepository.findExistingShipmentNumbers(chunk.stream()
+            .map(item -> item.value().getShipmentNumber())
+            .toList());
+
+        List<Item<ShipmentInput>> toInsert = new ArrayList<>();
+        for (Item<ShipmentInput> item : chunk) {
+            if (existing.contains(item.value().getShipmentNumber())) {
+                outcome.result.addError(item.index(), null, "Shipment number already exists: " + item.value().getShipmentNumber());
+            } else {
+                toInsert.add(item);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return outcome;
+        }
+
+        List<Shipment> shipments = toInsert.stream()
+            .map(item -> item.value().toShipment())
+            .toList();
+        shipmentPartyService.link(shipments, toInsert.stream().map(Item::value).toList());
+        List<Shipment> saved = shipmentRepository.saveAllAndFlush(shipments);
+        for (Shipment shipment : saved) {
+            outcome.result.getIds().add(shipment.getId());
+            outcome.changes.add(new ShipmentChange(null, shipment));
+        }
+        return outcome;
+    }
+
+    private <T> ChunkOutcome updateChunk(List<Item<T>> chunk, String sql, Function<T, Object> valueOf,
+                                         StateTransition<T> transition) {
+        ChunkOutcome outcome = new ChunkOutcome();
+
+        // The old states are needed to invalidate cached queries that matched the rows before the update
+        Map<Long, Shipment> current = shipmentRepository.findAllById(chunk.stream()
+                .map(Item::id)
+                .collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(Shipment::getId, Function.identity()));
+
+        List<Item<T>> toUpdate = new ArrayList<>();
+        for (Item<T> item : chunk) {
+            Long id = item.id();
+            if (current.containsKey(id)) {
+                toUpdate.add(item);
+            } else {
+                outcome.result.addError(item.index(), id, "Shipment not found with id: " + id);
+            }
+        }
+        if (toUpdate.isEmpty()) {
+            return outcome;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(sql, toUpdate, toUpdate.size(), (ps, item) -> {
+            ps.setObject(1, valueOf.apply(item.value()));
+            ps.setTimestamp(2, now);
+            ps.setLong(3, item.id());
+        });
+
+        for (Item<T> item : toUpdate) {
+            Long id = item.id();
+            Shipment before = current.get(id);
+            Shipment after = transition.apply(before, item.value());
+            after.setUpdatedAt(now.toLocalDateTime());
+            after.setVersion(before.getVersion() + 1);
+            current.put(id, after);
+            outcome.result.getIds().add(id);
+            outcome.changes.add(new ShipmentChange(before, after));
+        }
+        return outcome;
+    }
+
+    // id is the shipment the item targets, null for items that create one
+    private record Item<T>(int index, Long id, T value) {
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        ChunkOutcome write(List<Item<T>> chunk);
+    }
+
+    @FunctionalInterface
+    private interface StateTransition<T> {
+        Shipment apply(Shipment before, T change);
+    }
+
+    private static class ChunkOutcome {
+        private final ShipmentBatchResult result = new ShipmentBatchResult();
+        private final List<ShipmentChange> changes = new ArrayList<>();
+    }
+}
@@ -0,0 +1,160 @@
+package com.tms.service;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tms.csv.CsvWriter;
+import com.tms.dto.ExportFormat;
+import com.tms.dto.ShipmentFilter;
+import com.tms.model.Carrier;
+import com.tms.model.Shipment;
+import com.tms.model.Shipper;
+import com.tms.repository.ShipmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+// Writes each row to the output as soon as the cursor yields it; no page or list of shipments
+// is ever built, so heap use does not grow with the size of the export
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ShipmentExportService {
+
+    private static final List<Column> COLUMNS = List.of(
+        column("id", Shipment::getId),
+        column("shipmentNumber", Shipment::getShipmentNumber),
+        column("shipperName", Shipment::getShipperName),
+        new Column("shipperEmail", ExportRow::shipperEmail),
+        new Column("shipperPhone", ExportRow::shipperPhone),
+        column("carrierName", Shipment::getCarrierName),
+        new Column("carrierContact", ExportRow::carrierContact),
+        column("pickupLocation", Shipment::getPickupLocation),
+        column("pickupDate", Shipment::getPickupDate),
+        column("deliveryLocation", Shipment::getDeliveryLocation),
+        column("deliveryDate", Shipment::getDeliveryDate),
+        column("trackingNumber", Shipment::getTrackingNumber),
+        column("status", Shipment::getStatus),
+        column("weight", Shipment::getWeight),
+        column("dimensions", Shipment::getDimensions),
+        column("rate", Shipment::getRate),
+        column("currency", Shipment::getCurrency),
+        column("specialInstructions", Shipment::getSpecialInstructions),
+        column("flagged", Shipment::getFlagged),
+        column("createdAt", Shipment::getCreatedAt),
+        column("updatedAt", Shipment::getUpdatedAt)
+    );
+
+    private final ShipmentService shipmentService;
+    private final ShipmentPartyService shipmentPartyService;
+    private final ShipmentRepository shipmentRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${export.fetch-size}")
+    private int fetchSize;
+
+    // SUPPORTS: marks the export read-only (so it can be served by a replica) without holding a
+    // transaction and connection open next to the cursor's own for the whole download
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public long exportShipments(ShipmentFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        log.info("Exporting shipments as {} with filter: {}", format, filter);
+        long start = System.currentTimeMillis();
+
+        long count;
+        try {
+            count = switch (format) {
+                case CSV -> writeCsv(filter, out);
+                case NDJSON -> writeNdjson(filter, out);
+            };
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        log.info("Exported {} shipments as {} in {} ms", count, format, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    private long writeCsv(ShipmentFilter filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        CsvWriter.writeRecord(writer, COLUMNS.stream().map(Column::name).toList());
+        Parties parties = loadParties();
+        long count = shipmentRepository.scrollAll(shipmentService.filterSpecification(filter), fetchSize, shipment -> {
+            ExportRow row = parties.row(shipment);
+            try {
+                CsvWriter.writeRecord(writer, COLUMNS.stream().map(column -> column.format(row)).toList(), true);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        return count;
+    }
+
+    private long writeNdjson(ShipmentFilter filter, OutputStream out) throws IOException {
+        // One generator for the whole export, flushed by its buffer rather than after every row
+        ObjectWriter writer = objectMapper.writerFor(ExportRow.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        Parties parties = loadParties();
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            return shipmentRepository.scrollAll(shipmentService.filterSpecification(filter), fetchSize, shipment -> {
+                try {
+                    writer.writeValue(generator, parties.row(shipment));
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    // Contact details live on the carriers and shippers, which are far fewer than shipments: all
+    // of them are read once up front rather than looked up per exported row
+    private Parties loadParties() {
+        return new Parties(shipmentPartyService.findAllCarriers(), shipmentPartyService.findAllShippers());
+    }
+
+    private static Column column(String name, Function<Shipment, Object> getter) {
+        return new Column(name, row -> getter.apply(row.shipment()));
+    }
+
+    private record Column(String name, Function<ExportRow, Object> getter) {
+
+        String format(ExportRow row) {
+            return Objects.toString(getter.apply(row), "");
+        }
+    }
+
+    private record Parties(Map<Long, Carrier> carriers, Map<Long, Shipper> shippers) {
+
+        ExportRow row(Shipment shipment) {
+            Carrier carrier = shipment.getCarrierId() != null ? carriers.get(shipment.getCarrierId()) : null;
+            Shipper shipper = shipment.getShipperId() != null ? shippers.get(shipment.getShipperId()) : null;
+            return new ExportRow(shipment,
+                shipper != null ? shipper.getEmail() : null,
+                shipper != null ? shipper.getPhone() : null,
+                carrier != null ? carrier.getContact() : null);
+        }
+    }
+
+    // NDJSON keeps the flat shipment object of earlier exports, contact fields included
+    private record ExportRow(@JsonUnwrapped Shipment shipment, String shipperEmail, String shipperPhone,
+                             String carrierContact) {
+    }
+}
@@ -0,0 +1,425 @@
+package com.tms.service;
+
+import com.tms.csv.CsvReader;
+import com.tms.dto.ShipmentBatchError;
+import com.tms.dto.ShipmentImportResult;
+import com.tms.dto.ShipmentInput;
+import com.tms.event.ShipmentChange;
+import com.tms.event.ShipmentChangedEvent;
+import com.tms.exception.ResourceNotFoundException;
+import com.tms.migration.LegacyDates;
+import com.tms.model.ImportStatus;
+import com.tms.model.Shipment;
+import com.tms.model.ShipmentImport;
+import com.tms.repository.ShipmentImportRepository;
+import com.tms.repository.ShipmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.beans.PropertyDescriptor;
+import java.beans.PropertyEditorSupport;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Streams a CSV file into the shipments table. Records are read one at a time and collected into
+// chunks; each chunk is mapped and validated in parallel, then inserted with JDBC batching in one
+// transaction that also advances the import's checkpoint. Rows whose shipment number already exists
+// (in the table or earlier in the chunk) are skipped. A resumed import skips the committed rows,
+// after checking they are the ones committed: the rows are hashed as they are read and each chunk
+// stores the hash through its last row, so a different or changed file fails the resume instead of
+// importing the wrong rows.
+@Service
+@Slf4j
+public class ShipmentImportService {
+
+    private static final String ADVANCE_SQL =
+        "UPDATE shipment_imports SET rows_committed = ?, imported_count = imported_count + ?, " +
+        "skipped_count = skipped_count + ?, failed_count = failed_count + ?, committed_digest = ?, updated_at = ? " +
+        "WHERE id = ?";
+
+    private static final long PROGRESS_LOG_INTERVAL_MS = 5000;
+
+    private static final Map<String, String> COLUMN_PROPERTIES = Arrays.stream(
+            PropertyAccessorFactory.forBeanPropertyAccess(new ShipmentInput()).getPropertyDescriptors())
+        .filter(descriptor -> descriptor.getWriteMethod() != null)
+        .map(PropertyDescriptor::getName)
+        .collect(Collectors.toMap(name -> name.toLowerCase(Locale.ROOT), Function.identity()));
+
+    private final ShipmentRepository shipmentRepository;
+    private final ShipmentPartyService shipmentPartyService;
+    private final ShipmentImportRepository shipmentImportRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final Counter importedRows;
+    private final Counter skippedRows;
+    private final Counter failedRows;
+    private final Set<Long> runningImports = ConcurrentHashMap.newKeySet();
+
+    @Value("${import.chunk-size}")
+    private int chunkSize;
+
+    @Value("${import.max-reported-errors}")
+    private int maxReportedErrors;
+
+    public ShipmentImportService(ShipmentRepository shipmentRepository,
+                                 ShipmentPartyService shipmentPartyService,
+                                 ShipmentImportRepository shipmentImportRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 ApplicationEventPublisher eventPublisher,
+                                 Validator validator,
+                                 MeterRegistry meterRegistry) {
+        this.shipmentRepository = shipmentRepository;
+        this.shipmentPartyService = shipmentPartyService;
+        this.shipmentImportRepository = shipmentImportRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.importedRows = rowCounter(meterRegistry, "imported");
+        this.skippedRows = rowCounter(meterRegistry, "skipped");
+        this.failedRows = rowCounter(meterRegistry, "failed");
+    }
+
+    // Starts a new import, or resumes importId from its checkpoint when the same file is sent again
+    public ShipmentImportResult importShipments(InputStream in, String fileName, Long importId) {
+        ShipmentImport shipmentImport = importId != null
+            ? findImport(importId)
+            : shipmentImportRepository.save(ShipmentImport.builder().fileName(fileName).build());
+
+        if (shipmentImport.getStatus() == ImportStatus.COMPLETED) {
+            log.info("Import {} already completed, nothing to resume", shipmentImport.getId());
+            return ShipmentImportResult.of(shipmentImport);
+        }
+        if (!runningImports.add(shipmentImport.getId())) {
+            throw new IllegalStateException("Import " + shipmentImport.getId() + " is already running");
+        }
+        try {
+            if (shipmentImport.getStatus() != ImportStatus.RUNNING) {
+                shipmentImport.setStatus(ImportStatus.RUNNING);
+                shipmentImport.setLastError(null);
+                shipmentImport = shipmentImportRepository.save(shipmentImport);
+            }
+            return run(shipmentImport, in);
+        } finally {
+            runningImports.remove(shipmentImport.getId());
+        }
+    }
+
+    public ShipmentImportResult getImport(Long id) {
+        return ShipmentImportResult.of(findImport(id));
+    }
+
+    private ShipmentImportResult run(ShipmentImport shipmentImport, InputStream in) {
+        Long id = shipmentImport.getId();
+        long resumeAfter = shipmentImport.getRowsCommitted();
+        log.info("Import {} ({}) starting after row {}", id, shipmentImport.getFileName(), resumeAfter);
+        Progress progress = new Progress();
+
+        try (CsvReader reader = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            RowDigest digest = new RowDigest();
+            List<String> header = reader.next();
+            List<String> properties = resolveColumns(header);
+            digest.add(header);
+
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            long rowNumber = 0;
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                rowNumber++;
+                digest.add(record);
+                if (rowNumber <= resumeAfter) {
+                    if (rowNumber == resumeAfter) {
+                        verifyCommitted(shipmentImport, digest);
+                    }
+                    continue;
+                }
+                chunk.add(new Row(rowNumber, record));
+                if (chunk.size() == chunkSize) {
+                    commitChunk(id, properties, chunk, digest.current(), progress);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (rowNumber < resumeAfter) {
+                throw new IllegalArgumentException("File has " + rowNumber + " rows but import " + id + " already "
+                    + "committed " + resumeAfter + "; resume it with the same file");
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(id, properties, chunk, digest.current(), progress);
+            }
+            return finish(id, ImportStatus.COMPLETED, null, progress);
+        } catch (IOException | RuntimeException e) {
+            // Any failure, not only bad input or database errors, leaves the import resumable
+            Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+            String message = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+            log.warn("Import {} failed after row {}, resume it with importId={}: {}",
+                id, resumeAfter + progress.rows, id, message);
+            return finish(id, ImportStatus.FAILED, message, progress);
+        }
+    }
+
+    // Imports committed before the digest was stored have none and are resumed unchecked
+    private static void verifyCommitted(ShipmentImport shipmentImport, RowDigest digest) {
+        String committed = shipmentImport.getCommittedDigest();
+        if (committed != null && !committed.equals(digest.current())) {
+            throw new IllegalArgumentException("The first " + shipmentImport.getRowsCommitted() + " rows differ from "
+                + "those import " + shipmentImport.getId() + " committed; resume it with the same file");
+        }
+    }
+
+    private void commitChunk(Long importId, List<String> properties, List<Row> chunk, String digest,
+                             Progress progress) {
+        // Mapping and bean validation are the CPU-heavy part; only the insert itself is sequential
+        List<ParsedRow> parsed = chunk.parallelStream()
+            .map(row -> parse(properties, row))
+            .toList();
+        long lastRow = chunk.get(chunk.size() - 1).number();
+
+        ChunkOutcome outcome;
+        try {
+            outcome = transactionTemplate.execute(status -> insertChunk(importId, parsed, lastRow, digest));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent writer inserted one of these shipment numbers after the existence check;
+            // the retry sees it and skips that row
+            log.warn("Import {} chunk ending at row {} hit a duplicate, retrying: {}", importId, lastRow, e.getMessage());
+            outcome = transactionTemplate.execute(status -> insertChunk(importId, parsed, lastRow, digest));
+        }
+
+        if (!outcome.changes.isEmpty()) {
+            eventPublisher.publishEvent(new ShipmentChangedEvent(outcome.changes));
+        }
+        importedRows.increment(outcome.imported);
+        skippedRows.increment(outcome.skipped);
+        failedRows.increment(outcome.errors.size());
+        progress.add(chunk.size(), outcome, maxReportedErrors);
+        progress.report(importId, lastRow);
+    }
+
+    private ChunkOutcome insertChunk(Long importId, List<ParsedRow> rows, long lastRow, String digest) {
+        ChunkOutcome outcome = new ChunkOutcome();
+
+        Set<String> existing = shipmentRepository.findExistingShipmentNumbers(rows.stream()
+            .filter(row -> row.input() != null)
+            .map(row -> row.input().getShipmentNumber())
+            .toList());
+
+        Set<String> seen = new HashSet<>();
+        List<Shipment> toInsert = new ArrayList<>();
+        List<ShipmentInput> inputs = new ArrayList<>();
+        for (ParsedRow row : rows) {
+            if (row.error() != null) {
+                outcome.errors.add(new ShipmentBatchError((int) row.number(), null, row.error()));
+            } else if (existing.contains(row.input().getShipmentNumber()) || !seen.add(row.input().getShipmentNumber())) {
+                outcome.skipped++;
+            } else {
+                toInsert.add(row.input().toShipment());
+                inputs.add(row.input());
+            }
+        }
+
+        // Ids come from the pooled shipment sequence, so Hibernate batches these inserts (hibernate.jdbc.batch_size)
+        if (!toInsert.isEmpty()) {
+            shipmentPartyService.link(toInsert, inputs);
+            for (Shipment shipment : shipmentRepository.saveAllAndFlush(toInsert)) {
+                outcome.changes.add(new ShipmentChange(null, shipment));
+            }
+            outcome.imported = toInsert.size();
+        }
+
+        jdbcTemplate.update(ADVANCE_SQL, lastRow, outcome.imported, outcome.skipped, outcome.errors.size(), digest,
+            Timestamp.valueOf(LocalDateTime.now()), importId);
+        return outcome;
+    }
+
+    private ParsedRow parse(List<String> properties, Row row) {
+        List<String> values = row.values();
+        if (values.size() != properties.size()) {
+            return ParsedRow.failed(row.number(), "Expected " + properties.size() + " columns but found " + values.size());
+        }
+
+        ShipmentInput input = new ShipmentInput();
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(input);
+        // Same date shapes the old free-text columns were migrated from; editors are stateful,
+        // so one per row as rows are parsed in parallel
+        wrapper.registerCustomEditor(LocalDate.class, new PropertyEditorSupport() {
+            @Override
+            public void setAsText(String text) {
+                setValue(LegacyDates.parse(text));
+            }
+        });
+        for (int i = 0; i < properties.size(); i++) {
+            String property = properties.get(i);
+            String value = CsvReader.restoreFormula(values.get(i).trim());
+            if (property == null || value.isEmpty()) {
+                continue;
+            }
+            try {
+                wrapper.setPropertyValue(property, value);
+            } catch (TypeMismatchException e) {
+                return ParsedRow.failed(row.number(), "Invalid value for " + property + ": " + value);
+            }
+        }
+
+        Set<ConstraintViolation<ShipmentInput>> violations = validator.validate(input);
+        if (!violations.isEmpty()) {
+            return ParsedRow.failed(row.number(), "Validation error: " + violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", ")));
+        }
+        return new ParsedRow(row.number(), input, null);
+    }
+
+    // Header names match ShipmentInput properties case-insensitively; other columns (e.g. id or
+    // createdAt from an export) are ignored
+    private List<String> resolveColumns(List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        List<String> properties = header.stream()
+            .map(name -> COLUMN_PROPERTIES.get(name.trim().toLowerCase(Locale.ROOT)))
+            .toList();
+        if (!properties.contains("shipmentNumber")) {
+            throw new IllegalArgumentException("CSV header must contain a shipmentNumber column");
+        }
+        return properties;
+    }
+
+    private ShipmentImportResult finish(Long id, ImportStatus status, String error, Progress progress) {
+        ShipmentImport shipmentImport = findImport(id);
+        shipmentImport.setStatus(status);
+        shipmentImport.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+        shipmentImport = shipmentImportRepository.save(shipmentImport);
+
+        long elapsedMs = System.currentTimeMillis() - progress.start;
+        log.info("Import {} {}: {} rows in {} ms this run ({} imported, {} skipped, {} failed in total)",
+            id, status, progress.rows, elapsedMs, shipmentImport.getImportedCount(),
+            shipmentImport.getSkippedCount(), shipmentImport.getFailedCount());
+
+        ShipmentImportResult result = ShipmentImportResult.of(shipmentImport);
+        result.setRowsProcessed(progress.rows);
+        result.setElapsedMs(elapsedMs);
+        result.setRowsPerSecond(progress.rowsPerSecond());
+        result.setErrors(progress.errors);
+        return result;
+    }
+
+    private ShipmentImport findImport(Long id) {
+        return shipmentImportRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Import not found with id: " + id));
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("shipments.import.rows")
+            .description("CSV import rows by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private record Row(long number, List<String> values) {
+    }
+
+    private record ParsedRow(long number, ShipmentInput input, String error) {
+
+        static ParsedRow failed(long number, String error) {
+            return new ParsedRow(number, null, error);
+        }
+    }
+
+    // SHA-256 over the records read so far; values and records are delimited so that moving a
+    // separator between fields changes the hash
+    private static class RowDigest {
+        private final MessageDigest digest;
+
+        private RowDigest() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        private void add(List<String> record) {
+            for (String value : record) {
+                digest.update(value.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0x1F);
+            }
+            digest.update((byte) 0x1E);
+        }
+
+        // The hash so far, leaving the running digest to continue
+        private String current() {
+            try {
+                return HexFormat.of().formatHex(((MessageDigest) digest.clone()).digest());
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException("SHA-256 digest cannot be copied", e);
+            }
+        }
+    }
+
+    private static class ChunkOutcome {
+        private final List<ShipmentChange> changes = new ArrayList<>();
+        private final List<ShipmentBatchError> errors = new ArrayList<>();
+        private long imported;
+        private long skipped;
+    }
+
+    private static class Progress {
+        private final long start = System.currentTimeMillis();
+        private final List<ShipmentBatchError> errors = new ArrayList<>();
+        private long rows;
+        private long lastLog = start;
+
+        private void add(int chunkRows, ChunkOutcome outcome, int maxErrors) {
+            rows += chunkRows;
+            outcome.errors.stream()
+                .limit(Math.max(0, maxErrors - errors.size()))
+                .forEach(errors::add);
+        }
+
+        private void report(Long importId, long lastRow) {
+            long now = System.currentTimeMillis();
+            if (now - lastLog >= PROGRESS_LOG_INTERVAL_MS) {
+                lastLog = now;
+                log.info("Import {} committed through row {}, {} rows/s", importId, lastRow, Math.round(rowsPerSecond()));
+            }
+        }
+
+        private double rowsPerSecond() {
+            long elapsed = Math.max(1, System.currentTimeMillis() - start);
+            return rows * 1000.0 / elapsed;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.tms.service;
+
+import com.tms.dto.PartyContacts;
+import com.tms.model.Carrier;
+import com.tms.model.Shipment;
+import com.tms.model.Shipper;
+import com.tms.repository.CarrierRepository;
+import com.tms.repository.ShipperRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Carriers and shippers are identified by name: writes link each shipment to the row with its
+// carrier / shipper name, creating the row the first time a name is seen. The contact details a
+// write supplies are kept on those rows, shared by every shipment of that carrier / shipper.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ShipmentPartyService {
+
+    private final CarrierRepository carrierRepository;
+    private final ShipperRepository shipperRepository;
+
+    // contacts.get(i) holds the contact details supplied with shipments.get(i); a non-null value
+    // replaces the stored one, a null leaves it as is (a write cannot clear a shared contact).
+    // One lookup per type for the whole collection, plus one batched insert for the new names.
+    // Runs in the caller's transaction, so two writers introducing the same new name at once can
+    // still collide on the unique name; the losing write fails like any other constraint violation.
+    @Transactional
+    public void link(List<Shipment> shipments, List<? extends PartyContacts> contacts) {
+        List<Carrier> carriers = new ArrayList<>(shipments.size());
+        List<Shipper> shippers = new ArrayList<>(shipments.size());
+        for (int i = 0; i < shipments.size(); i++) {
+            Shipment shipment = shipments.get(i);
+            PartyContacts contact = contacts.get(i);
+            carriers.add(Carrier.builder()
+                .name(shipment.getCarrierName())
+                .contact(contact.getCarrierContact())
+                .build());
+            shippers.add(Shipper.builder()
+                .name(shipment.getShipperName())
+                .email(contact.getShipperEmail())
+                .phone(contact.getShipperPhone())
+                .build());
+        }
+
+        Map<String, Long> carrierIds = saveCarriers(carriers, true);
+        Map<String, Long> shipperIds = saveShippers(shippers, true);
+        for (Shipment shipment : shipments) {
+            shipment.setCarrierId(carrierIds.get(shipment.getCarrierName()));
+            shipment.setShipperId(shipperIds.get(shipment.getShipperName()));
+        }
+    }
+
+    // Ids by name, creating the carriers not seen before. For a name given more than once the last
+    // non-null contact wins; replaceContacts=false only fills in a contact the row does not have yet
+    @Transactional
+    public Map<String, Long> saveCarriers(Collection<Carrier> carriers, boolean replaceContacts) {
+        Map<String, Carrier> byName = new LinkedHashMap<>();
+        for (Carrier carrier : carriers) {
+            if (carrier.getName() != null) {
+                byName.merge(carrier.getName(), carrier, (old, given) -> Carrier.builder()
+                    .name(given.getName())
+                    .contact(given.getContact() != null ? given.getContact() : old.getContact())
+                    .build());
+            }
+        }
+
+        Map<String, Long> ids = new HashMap<>();
+        if (byName.isEmpty()) {
+            return ids;
+        }
+        // Found rows are managed: changed contacts are written when the transaction flushes
+        for (Carrier existing : carrierRepository.findByNameIn(byName.keySet())) {
+            Carrier given = byName.remove(existing.getName());
+            if (given.getContact() != null && (replaceContacts || existing.getContact() == null)) {
+                existing.setContact(given.getContact());
+            }
+            ids.put(existing.getName(), existing.getId());
+        }
+        if (!byName.isEmpty()) {
+            log.info("Creating {} carriers", byName.size());
+            carrierRepository.saveAll(byName.values()).forEach(carrier -> ids.put(carrier.getName(), carrier.getId()));
+        }
+        return ids;
+    }
+
+    // As saveCarriers; email and phone are merged independently
+    @Transactional
+    public Map<String, Long> saveShippers(Collection<Shipper> shippers, boolean replaceContacts) {
+        Map<String, Shipper> byName = new LinkedHashMap<>();
+        for (Shipper shipper : shippers) {
+            if (shipper.getName() != null) {
+                byName.merge(shipper.getName(), shipper, (old, given) -> Shipper.builder()
+                    .name(given.getName())
+                    .email(given.getEmail() != null ? given.getEmail() : old.getEmail())
+                    .phone(given.getPhone() != null ? given.getPhone() : old.getPhone())
+                    .build());
+            }
+        }
+
+        Map<String, Long> ids = new HashMap<>();
+        if (byName.isEmpty()) {
+            return ids;
+        }
+        for (Shipper existing : shipperRepository.findByNameIn(byName.keySet())) {
+            Shipper given = byName.remove(existing.getName());
+            if (given.getEmail() != null && (replaceContacts || existing.getEmail() == null)) {
+                existing.setEmail(given.getEmail());
+            }
+            if (given.getPhone() != null && (replaceContacts || existing.getPhone() == null)) {
+                existing.setPhone(given.getPhone());
+            }
+            ids.put(existing.getName(), existing.getId());
+        }
+        if (!byName.isEmpty()) {
+            log.info("Creating {} shippers", byName.size());
+            shipperRepository.saveAll(byName.values()).forEach(shipper -> ids.put(shipper.getName(), shipper.getId()));
+        }
+        return ids;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, Carrier> findCarriers(Set<Long> ids) {
+        log.info("Loading {} carriers", ids.size());
+        return carrierRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Carrier::getId, Function.identity()));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, Shipper> findShippers(Set<Long> ids) {
+        log.info("Loading {} shippers", ids.size());
+        return shipperRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Shipper::getId, Function.identity()));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, Carrier> findAllCarriers() {
+        return carrierRepository.findAll().stream()
+            .collect(Collectors.toMap(Carrier::getId, Function.identity()));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, Shipper> findAllShippers() {
+        return shipperRepository.findAll().stream()
+            .collect(Collectors.toMap(Shipper::getId, Function.identity()));
+    }
+}
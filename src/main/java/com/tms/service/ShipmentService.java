@@ -1,22 +1,43 @@
 package com.tms.service;
 
+import com.tms.config.CacheConfig;
 import com.tms.dto.PageInput;
+import com.tms.dto.ShipmentConnection;
+import com.tms.dto.ShipmentCursor;
 import com.tms.dto.ShipmentFilter;
 import com.tms.dto.ShipmentInput;
+import com.tms.dto.ShipmentPatch;
+import com.tms.dto.ShipmentStats;
+import com.tms.dto.StatusCount;
+import com.tms.event.ShipmentChangedEvent;
 import com.tms.exception.ResourceNotFoundException;
 import com.tms.model.Shipment;
 import com.tms.model.ShipmentStatus;
 import com.tms.repository.ShipmentRepository;
+import com.tms.repository.ShipmentSpecifications;
+import com.tms.search.ShipmentSearchIndex;
+import com.tms.stats.ShipmentStatsCounters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -24,32 +45,105 @@ import org.springframework.transaction.annotation.Transactional;
 public class ShipmentService {
     
     private final ShipmentRepository shipmentRepository;
+    private final ShipmentPartyService shipmentPartyService;
+    private final ShipmentSearchIndex shipmentSearchIndex;
+    private final ShipmentStatsCounters shipmentStatsCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    
+    private static final int PATCH_ATTEMPTS = 3;
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "shipments")
+    @Cacheable(value = CacheConfig.SHIPMENTS_CACHE, keyGenerator = "shipmentQueryKeyGenerator")
     public Page<Shipment> findShipments(ShipmentFilter filter, PageInput pageInput, 
-                                        String sortBy, String sortDirection) {
-        log.info("Fetching shipments with filter: {}, page: {}, sortBy: {}, direction: {}", 
-                 filter, pageInput, sortBy, sortDirection);
+                                        String sortBy, String sortDirection, Set<String> fields) {
+        log.info("Fetching shipments with filter: {}, page: {}, sortBy: {}, direction: {}, fields: {}", 
+                 filter, pageInput, sortBy, sortDirection, fields);
         
         Pageable pageable = createPageable(pageInput, sortBy, sortDirection);
         
-        if (filter == null || isEmptyFilter(filter)) {
-            return shipmentRepository.findAll(pageable);
+        // Read-only list: select only the requested columns instead of loading managed entities
+        if (fields != null) {
+            return shipmentRepository.findAllProjected(filterSpecification(filter), pageable, fields);
+        }
+        return shipmentRepository.findAll(filterSpecification(filter), pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public ShipmentConnection findShipmentsConnection(ShipmentFilter filter, Integer first, String after,
+                                                      String sortBy, String sortDirection, Set<String> fields) {
+        log.info("Fetching shipments connection with filter: {}, first: {}, after: {}, sortBy: {}, direction: {}",
+                 filter, first, after, sortBy, sortDirection);
+        
+        int limit = first != null ? first : 10;
+        if (limit <= 0) {
+            throw new IllegalArgumentException("first must be greater than zero");
         }
         
-        return shipmentRepository.findByFilters(
-            filter.getShipperName(),
-            filter.getCarrierName(),
-            filter.getStatus(),
-            filter.getPickupLocation(),
-            filter.getDeliveryLocation(),
-            filter.getFlagged(),
-            pageable
+        String sortKey = sortBy != null && !sortBy.isEmpty() ? sortBy : "createdAt";
+        if (!ShipmentCursor.isSortable(sortKey)) {
+            throw new IllegalArgumentException("Unsupported sort field for connection: " + sortKey);
+        }
+        Sort.Direction direction = resolveDirection(sortBy, sortDirection);
+        Sort sort = Sort.by(direction, sortKey).and(Sort.by(direction, "id"));
+        
+        Specification<Shipment> spec = filterSpecification(filter);
+        if (after != null) {
+            ShipmentCursor cursor = ShipmentCursor.decode(after);
+            if (!cursor.matches(sortKey, direction)) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort order");
+            }
+            spec = spec.and(ShipmentSpecifications.seekAfter(sortKey, cursor.getValue(), cursor.getId(), direction));
+        }
+        
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Shipment> rows;
+        if (fields != null) {
+            Set<String> projected = new HashSet<>(fields);
+            projected.add(sortKey);
+            rows = shipmentRepository.findAllProjected(spec, sort, limit + 1, projected);
+        } else {
+            rows = shipmentRepository.findBy(spec, query -> query.sortBy(sort).limit(limit + 1).all());
+        }
+        boolean hasNext = rows.size() > limit;
+        List<Shipment> content = hasNext ? rows.subList(0, limit) : rows;
+        
+        return ShipmentConnection.from(
+            content,
+            shipment -> ShipmentCursor.of(sortKey, direction, shipment).encode(),
+            hasNext,
+            after != null,
+            filter
         );
     }
     
     @Transactional(readOnly = true)
+    public long countShipments(ShipmentFilter filter) {
+        log.info("Counting shipments with filter: {}", filter);
+        return shipmentRepository.count(filterSpecification(filter));
+    }
+    
+    // Unfiltered stats come from the in-memory counters; a filter needs GROUP BY queries over its matches
+    @Transactional(readOnly = true)
+    public ShipmentStats getShipmentStats(ShipmentFilter filter) {
+        log.info("Fetching shipment stats with filter: {}", filter);
+        
+        if ((filter == null || filter.isEmpty()) && shipmentStatsCounters.isReady()) {
+            return shipmentStatsCounters.snapshot();
+        }
+        
+        Specification<Shipment> spec = filterSpecification(filter);
+        List<StatusCount> byStatus = shipmentRepository.countByStatus(spec);
+        return ShipmentStats.builder()
+            .totalCount(byStatus.stream().mapToLong(StatusCount::getCount).sum())
+            .flaggedCount(shipmentRepository.count(spec.and(ShipmentSpecifications.flagged())))
+            .byStatus(byStatus)
+            .byCarrier(shipmentRepository.sumByCarrier(spec))
+            .build();
+    }
+    
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.SHIPMENT_CACHE, key = "#id")
     public Shipment findById(Long id) {
         log.info("Fetching shipment by id: {}", id);
         return shipmentRepository.findById(id)
@@ -57,47 +151,29 @@ public class ShipmentService {
     }
     
     @Transactional
-    @CacheEvict(value = "shipments", allEntries = true)
+    @CachePut(value = CacheConfig.SHIPMENT_CACHE, key = "#result.id")
     public Shipment createShipment(ShipmentInput input) {
         log.info("Creating shipment: {}", input.getShipmentNumber());
         
-        Shipment shipment = Shipment.builder()
-            .shipmentNumber(input.getShipmentNumber())
-            .shipperName(input.getShipperName())
-            .shipperEmail(input.getShipperEmail())
-            .shipperPhone(input.getShipperPhone())
-            .carrierName(input.getCarrierName())
-            .carrierContact(input.getCarrierContact())
-            .pickupLocation(input.getPickupLocation())
-            .pickupDate(input.getPickupDate())
-            .deliveryLocation(input.getDeliveryLocation())
-            .deliveryDate(input.getDeliveryDate())
-            .trackingNumber(input.getTrackingNumber())
-            .status(input.getStatus() != null ? input.getStatus() : ShipmentStatus.PENDING)
-            .weight(input.getWeight())
-            .dimensions(input.getDimensions())
-            .rate(input.getRate())
-            .currency(input.getCurrency() != null ? input.getCurrency() : "USD")
-            .specialInstructions(input.getSpecialInstructions())
-            .flagged(false)
-            .build();
+        Shipment shipment = input.toShipment();
+        shipmentPartyService.link(List.of(shipment), List.of(input));
         
-        return shipmentRepository.save(shipment);
+        Shipment saved = shipmentRepository.save(shipment);
+        eventPublisher.publishEvent(ShipmentChangedEvent.of(null, saved));
+        return saved;
     }
     
     @Transactional
-    @CacheEvict(value = "shipments", allEntries = true)
+    @CachePut(value = CacheConfig.SHIPMENT_CACHE, key = "#result.id")
     public Shipment updateShipment(Long id, ShipmentInput input) {
         log.info("Updating shipment id: {}", id);
         
         Shipment shipment = findById(id);
+        Shipment before = shipment.toBuilder().build();
         
         shipment.setShipmentNumber(input.getShipmentNumber());
         shipment.setShipperName(input.getShipperName());
-        shipment.setShipperEmail(input.getShipperEmail());
-        shipment.setShipperPhone(input.getShipperPhone());
         shipment.setCarrierName(input.getCarrierName());
-        shipment.setCarrierContact(input.getCarrierContact());
         shipment.setPickupLocation(input.getPickupLocation());
         shipment.setPickupDate(input.getPickupDate());
         shipment.setDeliveryLocation(input.getDeliveryLocation());
@@ -113,50 +189,120 @@ public class ShipmentService {
             shipment.setCurrency(input.getCurrency());
         }
         shipment.setSpecialInstructions(input.getSpecialInstructions());
+        shipmentPartyService.link(List.of(shipment), List.of(input));
         
-        return shipmentRepository.save(shipment);
+        Shipment saved = shipmentRepository.save(shipment);
+        eventPublisher.publishEvent(ShipmentChangedEvent.of(before, saved));
+        return saved;
     }
     
     @Transactional
-    @CacheEvict(value = "shipments", allEntries = true)
+    @CacheEvict(value = CacheConfig.SHIPMENT_CACHE, key = "#id")
     public boolean deleteShipment(Long id) {
         log.info("Deleting shipment id: {}", id);
         
         Shipment shipment = findById(id);
         shipmentRepository.delete(shipment);
+        eventPublisher.publishEvent(ShipmentChangedEvent.of(shipment, null));
         return true;
     }
     
     @Transactional
-    @CacheEvict(value = "shipments", allEntries = true)
+    @CachePut(value = CacheConfig.SHIPMENT_CACHE, key = "#result.id")
     public Shipment flagShipment(Long id, Boolean flagged) {
         log.info("Flagging shipment id: {} as {}", id, flagged);
+        return applyPatch(id, ShipmentPatch.builder().flagged(flagged).build(), null);
+    }
+    
+    @Transactional
+    @CachePut(value = CacheConfig.SHIPMENT_CACHE, key = "#result.id")
+    public Shipment updateShipmentStatus(Long id, ShipmentStatus status, Long expectedVersion) {
+        log.info("Updating status of shipment id: {} to {}", id, status);
+        return applyPatch(id, ShipmentPatch.builder().status(status).build(), expectedVersion);
+    }
+    
+    @Transactional
+    @CachePut(value = CacheConfig.SHIPMENT_CACHE, key = "#result.id")
+    public Shipment patchShipment(Long id, ShipmentPatch patch, Long expectedVersion) {
+        log.info("Patching shipment id: {} fields: {}", id, patch.changes().keySet());
+        return applyPatch(id, patch, expectedVersion);
+    }
+    
+    // Targeted UPDATE ... WHERE id = ? AND version = ? computed from the cached copy when there is
+    // one, so the common write is a single statement. If the UPDATE applies, that copy was the exact
+    // before state for the change event. A stale copy or a concurrent writer updates nothing: the
+    // row is re-read and the patch retried, unless the caller pinned expectedVersion, in which case
+    // a mismatch against the database is reported as a conflict.
+    private Shipment applyPatch(Long id, ShipmentPatch patch, Long expectedVersion) {
+        if (patch.isEmpty()) {
+            throw new IllegalArgumentException("Patch must set at least one field");
+        }
         
-        Shipment shipment = findById(id);
-        shipment.setFlagged(flagged);
-        return shipmentRepository.save(shipment);
+        Shipment before = cachedShipment(id);
+        for (int attempt = 1; ; attempt++) {
+            boolean fresh = before == null;
+            if (fresh) {
+                before = shipmentRepository.findDetached(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Shipment not found with id: " + id));
+            }
+            
+            if (expectedVersion == null || expectedVersion.equals(before.getVersion())) {
+                LocalDateTime now = LocalDateTime.now();
+                Shipment after = patch.applyTo(before);
+                Map<String, Object> changes = patch.changes();
+                if (patch.changesParties()) {
+                    shipmentPartyService.link(List.of(after), List.of(patch));
+                    changes.put("carrierId", after.getCarrierId());
+                    changes.put("shipperId", after.getShipperId());
+                }
+                if (shipmentRepository.updateIfVersion(id, before.getVersion(), changes, now) == 1) {
+                    after.setVersion(before.getVersion() + 1);
+                    after.setUpdatedAt(now);
+                    eventPublisher.publishEvent(ShipmentChangedEvent.of(before, after));
+                    return after;
+                }
+            }
+            
+            if ((fresh && expectedVersion != null) || attempt == PATCH_ATTEMPTS) {
+                throw new OptimisticLockingFailureException("Shipment " + id + " was modified concurrently"
+                    + (expectedVersion != null ? " (expected version " + expectedVersion + ")" : "")
+                    + "; re-read it and retry");
+            }
+            log.debug("Shipment {} changed since version {}, re-reading", id, before.getVersion());
+            before = null;
+        }
+    }
+    
+    private Shipment cachedShipment(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.SHIPMENT_CACHE);
+        return cache != null ? cache.get(id, Shipment.class) : null;
+    }
+    
+    // Narrows substring filters to the search index candidates; the LIKE predicates still verify them
+    Specification<Shipment> filterSpecification(ShipmentFilter filter) {
+        Specification<Shipment> spec = ShipmentSpecifications.matching(filter);
+        return shipmentSearchIndex.candidates(filter)
+            .map(ids -> spec.and(ShipmentSpecifications.idIn(ids)))
+            .orElse(spec);
     }
     
     private Pageable createPageable(PageInput pageInput, String sortBy, String sortDirection) {
         int page = pageInput != null && pageInput.getPage() != null ? pageInput.getPage() : 0;
         int size = pageInput != null && pageInput.getSize() != null ? pageInput.getSize() : 10;
         
-        if (sortBy != null && !sortBy.isEmpty()) {
-            Sort.Direction direction = "DESC".equalsIgnoreCase(sortDirection) 
-                ? Sort.Direction.DESC 
-                : Sort.Direction.ASC;
-            return PageRequest.of(page, size, Sort.by(direction, sortBy));
-        }
-        
-        return PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        String sortKey = sortBy != null && !sortBy.isEmpty() ? sortBy : "createdAt";
+        return PageRequest.of(page, size, Sort.by(resolveDirection(sortBy, sortDirection), sortKey));
     }
     
-    private boolean isEmptyFilter(ShipmentFilter filter) {
-        return filter.getShipperName() == null &&
-               filter.getCarrierName() == null &&
-               filter.getStatus() == null &&
-               filter.getPickupLocation() == null &&
-               filter.getDeliveryLocation() == null &&
-               filter.getFlagged() == null;
+    // GraphQL only lets SortDirection values through, but other callers pass free text: anything
+    // but ASC / DESC (any case) is rejected, with or without sortBy. Without a direction, the
+    // default createdAt order is newest first and an explicit sortBy is ascending.
+    private Sort.Direction resolveDirection(String sortBy, String sortDirection) {
+        if (sortDirection == null || sortDirection.isEmpty()) {
+            return sortBy == null || sortBy.isEmpty() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        }
+        return Sort.Direction.fromOptionalString(sortDirection)
+            .orElseThrow(() -> new IllegalArgumentException(
+                "Invalid sortDirection: " + sortDirection + " (expected ASC or DESC)"));
     }
 }
@@ -1,9 +1,11 @@
 package com.tms.service;
 
+import com.tms.config.CacheConfig;
 import com.tms.model.User;
 import com.tms.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,7 +16,9 @@ public class UserService {
     
     private final UserRepository userRepository;
     
+    // Shared by login, authentication and me; unknown usernames are not cached
     @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.USERS_CACHE, key = "#username", unless = "#result == null")
     public User findByUsername(String username) {
         log.info("Finding user by username: {}", username);
         return userRepository.findByUsername(username).orElse(null);
@@ -0,0 +1,315 @@
+package com.tms.stats;
+
+import com.tms.dto.CarrierStats;
+import com.tms.dto.ShipmentStats;
+import com.tms.dto.StatusCount;
+import com.tms.event.ShipmentChange;
+import com.tms.event.ShipmentChangedEvent;
+import com.tms.model.Shipment;
+import com.tms.model.ShipmentStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Unfiltered dashboard aggregates kept in memory: counts per status, counts and rate/weight sums per
+// carrier, and the flagged count. Every committed change adjusts them by its old and new state, and
+// a periodic reconciliation compares them with the database to repair any drift.
+//
+// The database is only read at startup wholesale. Afterwards a change can be committed (and so
+// counted by the reconciliation queries) before its event reaches the counters, or between two of
+// the queries, so a single comparison cannot tell real drift from a change in flight. Each run
+// therefore only judges the aggregates no event has moved since the previous run ended: a status,
+// carrier or the flagged total that an event touched is skipped. For the others the difference is
+// remembered, and applied as a correction only if the next run finds the same difference for that
+// aggregate, still untouched. A change in flight shows up once and then touches its aggregates,
+// while real drift persists; a steady stream of events on some aggregates does not hold up the
+// repair of the rest.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShipmentStatsCounters implements SmartInitializingSingleton {
+
+    private static final String STATUS_SQL = "SELECT status, COUNT(*) FROM shipments GROUP BY status";
+
+    private static final String CARRIER_SQL =
+        "SELECT carrier_name, COUNT(*), COALESCE(SUM(rate), 0), COALESCE(SUM(weight), 0) FROM shipments GROUP BY carrier_name";
+
+    private static final String FLAGGED_SQL = "SELECT COUNT(*) FROM shipments WHERE flagged = TRUE";
+
+    // Rate and weight sums are doubles, summed in a different order in memory and in the database
+    private static final double SUM_PRECISION = 1e6;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<ShipmentStatus, Long> byStatus = new EnumMap<>(ShipmentStatus.class);
+    private Map<String, Totals> byCarrier = new HashMap<>();
+    private long flagged;
+    // Aggregates moved by an event since the last reconciliation ended
+    private final Set<ShipmentStatus> touchedStatuses = EnumSet.noneOf(ShipmentStatus.class);
+    private final Set<String> touchedCarriers = new HashSet<>();
+    private boolean flaggedTouched;
+    private Drift suspectedDrift = Drift.NONE;
+    private volatile boolean ready;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${stats.reconcile-interval}", initialDelayString = "${stats.reconcile-interval}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        Map<ShipmentStatus, Long> statuses = new EnumMap<>(ShipmentStatus.class);
+        jdbcTemplate.query(STATUS_SQL, rs -> {
+            statuses.put(ShipmentStatus.valueOf(rs.getString(1)), rs.getLong(2));
+        });
+        Map<String, Totals> carriers = new HashMap<>();
+        jdbcTemplate.query(CARRIER_SQL, rs -> {
+            carriers.put(rs.getString(1), new Totals(rs.getLong(2), rs.getDouble(3), rs.getDouble(4)));
+        });
+        Long flaggedCount = jdbcTemplate.queryForObject(FLAGGED_SQL, Long.class);
+        long flaggedInDatabase = flaggedCount != null ? flaggedCount : 0;
+
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                byStatus = statuses;
+                byCarrier = carriers;
+                flagged = flaggedInDatabase;
+                ready = true;
+            } else {
+                correct(Drift.between(statuses, carriers, flaggedInDatabase, byStatus, byCarrier, flagged)
+                    .without(touchedStatuses, touchedCarriers, flaggedTouched));
+            }
+            touchedStatuses.clear();
+            touchedCarriers.clear();
+            flaggedTouched = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Shipment stats reconciled in {} ms", System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentChanged(ShipmentChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (ShipmentChange change : event.getChanges()) {
+                touch(change.getBefore(), change.getAfter());
+                apply(change.getBefore(), -1);
+                apply(change.getAfter(), 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Under the write lock; drift covers only the aggregates untouched since the last run
+    private void correct(Drift drift) {
+        Drift confirmed = drift.sameAs(suspectedDrift);
+        if (!confirmed.isEmpty()) {
+            log.warn("Shipment stats drifted from the database by {}; correcting", confirmed);
+            confirmed.byStatus().forEach((status, delta) -> byStatus.merge(status, delta, Long::sum));
+            byStatus.values().removeIf(count -> count == 0);
+            confirmed.byCarrier().forEach((carrier, delta) -> {
+                Totals totals = byCarrier.computeIfAbsent(carrier, name -> new Totals(0, 0, 0));
+                totals.count += delta.count();
+                totals.rate += delta.rate();
+                totals.weight += delta.weight();
+                if (totals.count == 0) {
+                    byCarrier.remove(carrier);
+                }
+            });
+            flagged += confirmed.flagged();
+        }
+        suspectedDrift = drift.without(confirmed.byStatus().keySet(), confirmed.byCarrier().keySet(), confirmed.flagged() != 0);
+        if (!suspectedDrift.isEmpty()) {
+            log.debug("Shipment stats differ from the database by {}; checking again next time", suspectedDrift);
+        }
+    }
+
+    // Marks the aggregates the change moves: statuses and carriers whose count or sums differ
+    // between its before and after states, and the flagged total if the flag differs
+    private void touch(Shipment before, Shipment after) {
+        if (!Objects.equals(status(before), status(after))) {
+            addIfPresent(touchedStatuses, status(before));
+            addIfPresent(touchedStatuses, status(after));
+        }
+        if (!Objects.equals(carrierName(before), carrierName(after))
+                || !Objects.equals(rate(before), rate(after))
+                || !Objects.equals(weight(before), weight(after))) {
+            addIfPresent(touchedCarriers, carrierName(before));
+            addIfPresent(touchedCarriers, carrierName(after));
+        }
+        if (isFlagged(before) != isFlagged(after)) {
+            flaggedTouched = true;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public ShipmentStats snapshot() {
+        lock.readLock().lock();
+        try {
+            return ShipmentStats.builder()
+                .totalCount(byStatus.values().stream().mapToLong(Long::longValue).sum())
+                .flaggedCount(flagged)
+                .byStatus(byStatus.entrySet().stream()
+                    .map(entry -> new StatusCount(entry.getKey(), entry.getValue()))
+                    .toList())
+                .byCarrier(byCarrier.entrySet().stream()
+                    .map(entry -> new CarrierStats(entry.getKey(), entry.getValue().count, entry.getValue().rate, entry.getValue().weight))
+                    .sorted(Comparator.comparing(CarrierStats::getCarrierName))
+                    .toList())
+                .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Shipment shipment, int sign) {
+        if (shipment == null) {
+            return;
+        }
+        byStatus.merge(shipment.getStatus(), (long) sign, Long::sum);
+        byStatus.values().removeIf(count -> count == 0);
+        if (Boolean.TRUE.equals(shipment.getFlagged())) {
+            flagged += sign;
+        }
+
+        Totals totals = byCarrier.computeIfAbsent(shipment.getCarrierName(), name -> new Totals(0, 0, 0));
+        totals.count += sign;
+        totals.rate += sign * Objects.requireNonNullElse(shipment.getRate(), 0.0);
+        totals.weight += sign * Objects.requireNonNullElse(shipment.getWeight(), 0.0);
+        if (totals.count == 0) {
+            byCarrier.remove(shipment.getCarrierName());
+        }
+    }
+
+    private static <T> void addIfPresent(Set<T> keys, T key) {
+        if (key != null) {
+            keys.add(key);
+        }
+    }
+
+    private static ShipmentStatus status(Shipment shipment) {
+        return shipment != null ? shipment.getStatus() : null;
+    }
+
+    private static String carrierName(Shipment shipment) {
+        return shipment != null ? shipment.getCarrierName() : null;
+    }
+
+    private static Double rate(Shipment shipment) {
+        return shipment != null ? shipment.getRate() : null;
+    }
+
+    private static Double weight(Shipment shipment) {
+        return shipment != null ? shipment.getWeight() : null;
+    }
+
+    private static boolean isFlagged(Shipment shipment) {
+        return shipment != null && Boolean.TRUE.equals(shipment.getFlagged());
+    }
+
+    // Database minus memory, non-zero entries only
+
+    private record Drift(Map<ShipmentStatus, Long> byStatus, Map<String, CarrierDelta> byCarrier, long flagged) {
+
+        static final Drift NONE = new Drift(Map.of(), Map.of(), 0);
+
+        static Drift between(Map<ShipmentStatus, Long> dbStatus, Map<String, Totals> dbCarrier, long dbFlagged,
+                             Map<ShipmentStatus, Long> memStatus, Map<String, Totals> memCarrier, long memFlagged) {
+            Map<ShipmentStatus, Long> statuses = new EnumMap<>(ShipmentStatus.class);
+            for (ShipmentStatus status : ShipmentStatus.values()) {
+                long delta = dbStatus.getOrDefault(status, 0L) - memStatus.getOrDefault(status, 0L);
+                if (delta != 0) {
+                    statuses.put(status, delta);
+                }
+            }
+            Map<String, CarrierDelta> carriers = new HashMap<>();
+            Set<String> names = new HashSet<>(dbCarrier.keySet());
+            names.addAll(memCarrier.keySet());
+            Totals none = new Totals(0, 0, 0);
+            for (String name : names) {
+                Totals db = dbCarrier.getOrDefault(name, none);
+                Totals mem = memCarrier.getOrDefault(name, none);
+                CarrierDelta delta = new CarrierDelta(db.count - mem.count, round(db.rate - mem.rate), round(db.weight - mem.weight));
+                if (delta.count() != 0 || delta.rate() != 0 || delta.weight() != 0) {
+                    carriers.put(name, delta);
+                }
+            }
+            return new Drift(statuses, carriers, dbFlagged - memFlagged);
+        }
+
+        boolean isEmpty() {
+            return byStatus.isEmpty() && byCarrier.isEmpty() && flagged == 0;
+        }
+
+        Drift without(Set<ShipmentStatus> statuses, Set<String> carriers, boolean withoutFlagged) {
+            Map<ShipmentStatus, Long> keptStatuses = new EnumMap<>(ShipmentStatus.class);
+            byStatus.forEach((status, delta) -> {
+                if (!statuses.contains(status)) {
+                    keptStatuses.put(status, delta);
+                }
+            });
+            Map<String, CarrierDelta> keptCarriers = new HashMap<>(byCarrier);
+            keptCarriers.keySet().removeAll(carriers);
+            return new Drift(keptStatuses, keptCarriers, withoutFlagged ? 0 : flagged);
+        }
+
+        // The entries with the same delta in both
+        Drift sameAs(Drift other) {
+            Map<ShipmentStatus, Long> statuses = new EnumMap<>(ShipmentStatus.class);
+            byStatus.forEach((status, delta) -> {
+                if (delta.equals(other.byStatus.get(status))) {
+                    statuses.put(status, delta);
+                }
+            });
+            Map<String, CarrierDelta> carriers = new HashMap<>();
+            byCarrier.forEach((carrier, delta) -> {
+                if (delta.equals(other.byCarrier.get(carrier))) {
+                    carriers.put(carrier, delta);
+                }
+            });
+            return new Drift(statuses, carriers, flagged == other.flagged ? flagged : 0);
+        }
+
+        // + 0.0 turns -0.0 into 0.0, so equal deltas compare equal
+        private static double round(double value) {
+            return Math.round(value * SUM_PRECISION) / SUM_PRECISION + 0.0;
+        }
+    }
+
+    private record CarrierDelta(long count, double rate, double weight) {
+    }
+
+    private static class Totals {
+        private long count;
+        private double rate;
+        private double weight;
+
+        private Totals(long count, double rate, double weight) {
+            this.count = count;
+            this.rate = rate;
+            this.weight = weight;
+        }
+    }
+}
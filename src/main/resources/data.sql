@@ -3,19 +3,57 @@ INSERT INTO users (id, username, password, email, role) VALUES
 (2, 'employee', 'employee123', 'employee@tms.com', 'EMPLOYEE');
 
 
-INSERT INTO shipments (shipment_number, shipper_name, shipper_email, shipper_phone, carrier_name, carrier_contact, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, dimensions, rate, currency, special_instructions, flagged, created_at, updated_at) VALUES
-('SH-2024-001', 'Acme Corporation', 'shipping@acme.com', '+1-555-0101', 'FedEx Express', 'fedex@carrier.com', 'New York, NY, USA', '2024-01-15', 'Los Angeles, CA, USA', '2024-01-18', 'FDX123456789', 'DELIVERED', 250.5, '48x40x36 in', 450.00, 'USD', 'Handle with care - fragile items', false, '2024-01-10 10:00:00', '2024-01-18 15:30:00'),
-('SH-2024-002', 'Global Traders Inc', 'contact@globaltraders.com', '+1-555-0102', 'UPS Ground', 'ups@carrier.com', 'Chicago, IL, USA', '2024-01-16', 'Miami, FL, USA', '2024-01-20', 'UPS987654321', 'IN_TRANSIT', 180.0, '36x36x24 in', 320.00, 'USD', 'Signature required upon delivery', false, '2024-01-12 09:15:00', '2024-01-16 11:00:00'),
-('SH-2024-003', 'Tech Supplies Ltd', 'logistics@techsupplies.com', '+1-555-0103', 'DHL International', 'dhl@carrier.com', 'San Francisco, CA, USA', '2024-01-17', 'Seattle, WA, USA', '2024-01-19', 'DHL456789123', 'OUT_FOR_DELIVERY', 95.3, '24x18x12 in', 180.00, 'USD', 'Electronics - keep dry', true, '2024-01-14 14:20:00', '2024-01-19 08:45:00'),
-('SH-2024-004', 'Fresh Foods Market', 'shipping@freshfoods.com', '+1-555-0104', 'Refrigerated Transport Co', 'reftrans@carrier.com', 'Houston, TX, USA', '2024-01-18', 'Dallas, TX, USA', '2024-01-18', 'REF112233445', 'DELIVERED', 500.0, '60x48x48 in', 280.00, 'USD', 'Temperature controlled - perishable goods', false, '2024-01-17 06:00:00', '2024-01-18 18:00:00'),
-('SH-2024-005', 'Industrial Parts Co', 'orders@industrialparts.com', '+1-555-0105', 'Freight Masters', 'freight@carrier.com', 'Detroit, MI, USA', '2024-01-19', 'Cleveland, OH, USA', '2024-01-22', 'FRM998877665', 'PENDING', 1200.5, '96x60x48 in', 650.00, 'USD', 'Heavy machinery parts - forklift required', false, '2024-01-18 13:30:00', '2024-01-18 13:30:00'),
-('SH-2024-006', 'Fashion Trends Ltd', 'dispatch@fashiontrends.com', '+1-555-0106', 'Express Couriers', 'express@carrier.com', 'Boston, MA, USA', '2024-01-20', 'Philadelphia, PA, USA', '2024-01-21', 'EXP556677889', 'PICKED_UP', 75.0, '30x20x15 in', 125.00, 'USD', 'High-value clothing items', false, '2024-01-19 16:00:00', '2024-01-20 09:00:00'),
-('SH-2024-007', 'Medical Supplies Inc', 'logistics@medsupplies.com', '+1-555-0107', 'Priority Medical Transport', 'medical@carrier.com', 'Phoenix, AZ, USA', '2024-01-21', 'Denver, CO, USA', '2024-01-23', 'MED334455667', 'DELAYED', 45.2, '18x12x10 in', 350.00, 'USD', 'Medical equipment - urgent delivery', true, '2024-01-20 07:45:00', '2024-01-21 14:20:00'),
-('SH-2024-008', 'Book Distributors LLC', 'shipping@bookdist.com', '+1-555-0108', 'Standard Shipping', 'standard@carrier.com', 'Portland, OR, USA', '2024-01-22', 'Sacramento, CA, USA', '2024-01-25', 'STD778899001', 'IN_TRANSIT', 350.0, '48x36x30 in', 195.00, 'USD', 'Books - moisture sensitive', false, '2024-01-21 10:30:00', '2024-01-22 12:00:00'),
-('SH-2024-009', 'Electronics Hub', 'dispatch@electronichub.com', '+1-555-0109', 'Tech Express', 'techex@carrier.com', 'Austin, TX, USA', '2024-01-23', 'Atlanta, GA, USA', '2024-01-26', 'TEX112233445', 'PENDING', 125.5, '36x24x18 in', 275.00, 'USD', 'Laptops and tablets - insured shipment', false, '2024-01-22 15:00:00', '2024-01-22 15:00:00'),
-('SH-2024-010', 'Furniture Mart', 'logistics@furnituremart.com', '+1-555-0110', 'Heavy Haul Transport', 'heavyhaul@carrier.com', 'Minneapolis, MN, USA', '2024-01-24', 'Nashville, TN, USA', '2024-01-28', 'HHT998877665', 'PENDING', 850.0, '120x72x60 in', 520.00, 'USD', 'Wooden furniture - avoid moisture', false, '2024-01-23 11:15:00', '2024-01-23 11:15:00'),
-('SH-2024-011', 'Automotive Parts Pro', 'shipping@autopartspro.com', '+1-555-0111', 'Auto Transport Services', 'auto@carrier.com', 'Charlotte, NC, USA', '2024-01-25', 'Richmond, VA, USA', '2024-01-26', 'ATS445566778', 'DELIVERED', 320.0, '48x36x24 in', 185.00, 'USD', 'Car engine components', false, '2024-01-24 08:00:00', '2024-01-26 17:30:00'),
-('SH-2024-012', 'Sporting Goods Co', 'orders@sportinggoods.com', '+1-555-0112', 'Fast Track Delivery', 'fasttrack@carrier.com', 'Las Vegas, NV, USA', '2024-01-26', 'Salt Lake City, UT, USA', '2024-01-28', 'FTD223344556', 'OUT_FOR_DELIVERY', 165.0, '42x30x20 in', 210.00, 'USD', 'Sports equipment - handle carefully', false, '2024-01-25 12:30:00', '2024-01-28 09:15:00'),
-('SH-2024-013', 'Chemical Solutions Ltd', 'dispatch@chemsolutions.com', '+1-555-0113', 'Hazmat Specialists', 'hazmat@carrier.com', 'Baltimore, MD, USA', '2024-01-27', 'Pittsburgh, PA, USA', '2024-01-29', 'HAZ667788990', 'IN_TRANSIT', 280.0, '40x30x30 in', 480.00, 'USD', 'Hazardous materials - special handling required', true, '2024-01-26 07:00:00', '2024-01-27 10:00:00'),
-('SH-2024-014', 'Craft Supplies Store', 'shipping@craftsupplies.com', '+1-555-0114', 'Regional Express', 'regional@carrier.com', 'Milwaukee, WI, USA', '2024-01-28', 'Indianapolis, IN, USA', '2024-01-30', 'REG334455667', 'PENDING', 68.5, '24x18x12 in', 95.00, 'USD', 'Art and craft materials', false, '2024-01-27 14:45:00', '2024-01-27 14:45:00'),
-('SH-2024-015', 'Garden Equipment Inc', 'logistics@gardenequip.com', '+1-555-0115', 'Green Transport', 'green@carrier.com', 'Kansas City, MO, USA', '2024-01-29', 'Oklahoma City, OK, USA', '2024-01-31', 'GRN556677889', 'CANCELLED', 420.0, '72x48x36 in', 310.00, 'USD', 'Cancelled by customer request', false, '2024-01-28 09:30:00', '2024-01-29 16:00:00');
+INSERT INTO carriers (id, name, contact) VALUES
+(1, 'FedEx Express', 'fedex@carrier.com'),
+(2, 'UPS Ground', 'ups@carrier.com'),
+(3, 'DHL International', 'dhl@carrier.com'),
+(4, 'Refrigerated Transport Co', 'reftrans@carrier.com'),
+(5, 'Freight Masters', 'freight@carrier.com'),
+(6, 'Express Couriers', 'express@carrier.com'),
+(7, 'Priority Medical Transport', 'medical@carrier.com'),
+(8, 'Standard Shipping', 'standard@carrier.com'),
+(9, 'Tech Express', 'techex@carrier.com'),
+(10, 'Heavy Haul Transport', 'heavyhaul@carrier.com'),
+(11, 'Auto Transport Services', 'auto@carrier.com'),
+(12, 'Fast Track Delivery', 'fasttrack@carrier.com'),
+(13, 'Hazmat Specialists', 'hazmat@carrier.com'),
+(14, 'Regional Express', 'regional@carrier.com'),
+(15, 'Green Transport', 'green@carrier.com');
+
+INSERT INTO shippers (id, name, email, phone) VALUES
+(1, 'Acme Corporation', 'shipping@acme.com', '+1-555-0101'),
+(2, 'Global Traders Inc', 'contact@globaltraders.com', '+1-555-0102'),
+(3, 'Tech Supplies Ltd', 'logistics@techsupplies.com', '+1-555-0103'),
+(4, 'Fresh Foods Market', 'shipping@freshfoods.com', '+1-555-0104'),
+(5, 'Industrial Parts Co', 'orders@industrialparts.com', '+1-555-0105'),
+(6, 'Fashion Trends Ltd', 'dispatch@fashiontrends.com', '+1-555-0106'),
+(7, 'Medical Supplies Inc', 'logistics@medsupplies.com', '+1-555-0107'),
+(8, 'Book Distributors LLC', 'shipping@bookdist.com', '+1-555-0108'),
+(9, 'Electronics Hub', 'dispatch@electronichub.com', '+1-555-0109'),
+(10, 'Furniture Mart', 'logistics@furnituremart.com', '+1-555-0110'),
+(11, 'Automotive Parts Pro', 'shipping@autopartspro.com', '+1-555-0111'),
+(12, 'Sporting Goods Co', 'orders@sportinggoods.com', '+1-555-0112'),
+(13, 'Chemical Solutions Ltd', 'dispatch@chemsolutions.com', '+1-555-0113'),
+(14, 'Craft Supplies Store', 'shipping@craftsupplies.com', '+1-555-0114'),
+(15, 'Garden Equipment Inc', 'logistics@gardenequip.com', '+1-555-0115');
+
+INSERT INTO shipments (id, shipment_number, shipper_name, shipper_id, carrier_name, carrier_id, pickup_location, pickup_date, delivery_location, delivery_date, tracking_number, status, weight, dimensions, rate, currency, special_instructions, flagged, created_at, updated_at) VALUES
+(1, 'SH-2024-001', 'Acme Corporation', 1, 'FedEx Express', 1, 'New York, NY, USA', '2024-01-15', 'Los Angeles, CA, USA', '2024-01-18', 'FDX123456789', 'DELIVERED', 250.5, '48x40x36 in', 450.00, 'USD', 'Handle with care - fragile items', false, '2024-01-10 10:00:00', '2024-01-18 15:30:00'),
+(2, 'SH-2024-002', 'Global Traders Inc', 2, 'UPS Ground', 2, 'Chicago, IL, USA', '2024-01-16', 'Miami, FL, USA', '2024-01-20', 'UPS987654321', 'IN_TRANSIT', 180.0, '36x36x24 in', 320.00, 'USD', 'Signature required upon delivery', false, '2024-01-12 09:15:00', '2024-01-16 11:00:00'),
+(3, 'SH-2024-003', 'Tech Supplies Ltd', 3, 'DHL International', 3, 'San Francisco, CA, USA', '2024-01-17', 'Seattle, WA, USA', '2024-01-19', 'DHL456789123', 'OUT_FOR_DELIVERY', 95.3, '24x18x12 in', 180.00, 'USD', 'Electronics - keep dry', true, '2024-01-14 14:20:00', '2024-01-19 08:45:00'),
+(4, 'SH-2024-004', 'Fresh Foods Market', 4, 'Refrigerated Transport Co', 4, 'Houston, TX, USA', '2024-01-18', 'Dallas, TX, USA', '2024-01-18', 'REF112233445', 'DELIVERED', 500.0, '60x48x48 in', 280.00, 'USD', 'Temperature controlled - perishable goods', false, '2024-01-17 06:00:00', '2024-01-18 18:00:00'),
+(5, 'SH-2024-005', 'Industrial Parts Co', 5, 'Freight Masters', 5, 'Detroit, MI, USA', '2024-01-19', 'Cleveland, OH, USA', '2024-01-22', 'FRM998877665', 'PENDING', 1200.5, '96x60x48 in', 650.00, 'USD', 'Heavy machinery parts - forklift required', false, '2024-01-18 13:30:00', '2024-01-18 13:30:00'),
+(6, 'SH-2024-006', 'Fashion Trends Ltd', 6, 'Express Couriers', 6, 'Boston, MA, USA', '2024-01-20', 'Philadelphia, PA, USA', '2024-01-21', 'EXP556677889', 'PICKED_UP', 75.0, '30x20x15 in', 125.00, 'USD', 'High-value clothing items', false, '2024-01-19 16:00:00', '2024-01-20 09:00:00'),
+(7, 'SH-2024-007', 'Medical Supplies Inc', 7, 'Priority Medical Transport', 7, 'Phoenix, AZ, USA', '2024-01-21', 'Denver, CO, USA', '2024-01-23', 'MED334455667', 'DELAYED', 45.2, '18x12x10 in', 350.00, 'USD', 'Medical equipment - urgent delivery', true, '2024-01-20 07:45:00', '2024-01-21 14:20:00'),
+(8, 'SH-2024-008', 'Book Distributors LLC', 8, 'Standard Shipping', 8, 'Portland, OR, USA', '2024-01-22', 'Sacramento, CA, USA', '2024-01-25', 'STD778899001', 'IN_TRANSIT', 350.0, '48x36x30 in', 195.00, 'USD', 'Books - moisture sensitive', false, '2024-01-21 10:30:00', '2024-01-22 12:00:00'),
+(9, 'SH-2024-009', 'Electronics Hub', 9, 'Tech Express', 9, 'Austin, TX, USA', '2024-01-23', 'Atlanta, GA, USA', '2024-01-26', 'TEX112233445', 'PENDING', 125.5, '36x24x18 in', 275.00, 'USD', 'Laptops and tablets - insured shipment', false, '2024-01-22 15:00:00', '2024-01-22 15:00:00'),
+(10, 'SH-2024-010', 'Furniture Mart', 10, 'Heavy Haul Transport', 10, 'Minneapolis, MN, USA', '2024-01-24', 'Nashville, TN, USA', '2024-01-28', 'HHT998877665', 'PENDING', 850.0, '120x72x60 in', 520.00, 'USD', 'Wooden furniture - avoid moisture', false, '2024-01-23 11:15:00', '2024-01-23 11:15:00'),
+(11, 'SH-2024-011', 'Automotive Parts Pro', 11, 'Auto Transport Services', 11, 'Charlotte, NC, USA', '2024-01-25', 'Richmond, VA, USA', '2024-01-26', 'ATS445566778', 'DELIVERED', 320.0, '48x36x24 in', 185.00, 'USD', 'Car engine components', false, '2024-01-24 08:00:00', '2024-01-26 17:30:00'),
+(12, 'SH-2024-012', 'Sporting Goods Co', 12, 'Fast Track Delivery', 12, 'Las Vegas, NV, USA', '2024-01-26', 'Salt Lake City, UT, USA', '2024-01-28', 'FTD223344556', 'OUT_FOR_DELIVERY', 165.0, '42x30x20 in', 210.00, 'USD', 'Sports equipment - handle carefully', false, '2024-01-25 12:30:00', '2024-01-28 09:15:00'),
+(13, 'SH-2024-013', 'Chemical Solutions Ltd', 13, 'Hazmat Specialists', 13, 'Baltimore, MD, USA', '2024-01-27', 'Pittsburgh, PA, USA', '2024-01-29', 'HAZ667788990', 'IN_TRANSIT', 280.0, '40x30x30 in', 480.00, 'USD', 'Hazardous materials - special handling required', true, '2024-01-26 07:00:00', '2024-01-27 10:00:00'),
+(14, 'SH-2024-014', 'Craft Supplies Store', 14, 'Regional Express', 14, 'Milwaukee, WI, USA', '2024-01-28', 'Indianapolis, IN, USA', '2024-01-30', 'REG334455667', 'PENDING', 68.5, '24x18x12 in', 95.00, 'USD', 'Art and craft materials', false, '2024-01-27 14:45:00', '2024-01-27 14:45:00'),
+(15, 'SH-2024-015', 'Garden Equipment Inc', 15, 'Green Transport', 15, 'Kansas City, MO, USA', '2024-01-29', 'Oklahoma City, OK, USA', '2024-01-31', 'GRN556677889', 'CANCELLED', 420.0, '72x48x36 in', 310.00, 'USD', 'Cancelled by customer request', false, '2024-01-28 09:30:00', '2024-01-29 16:00:00');
+
+ALTER SEQUENCE shipment_seq RESTART WITH 16;
+ALTER SEQUENCE carrier_seq RESTART WITH 16;
+ALTER SEQUENCE shipper_seq RESTART WITH 16;
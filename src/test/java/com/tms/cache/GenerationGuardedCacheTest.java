@@ -0,0 +1,128 @@
+package com.tms.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tms.datasource.ReadWriteRoutingDataSource;
+import com.tms.datasource.ReplicaLagMonitor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GenerationGuardedCacheTest {
+
+    private final GenerationGuardedCache cache = new GenerationGuardedCache("test", Caffeine.newBuilder().build());
+
+    @Test
+    void storesValueLoadedWithoutInvalidation() {
+        assertThat(cache.get("a")).isNull();
+        cache.put("a", "loaded");
+
+        assertThat(cache.get("a", String.class)).isEqualTo("loaded");
+    }
+
+    @Test
+    void refusesValueLoadedAcrossAnEviction() {
+        assertThat(cache.get("a")).isNull();
+        cache.evict("b");
+        cache.put("a", "stale");
+
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void refusesValueLoadedAcrossAFilteredEviction() {
+        assertThat(cache.get("a")).isNull();
+        cache.evictIf(key -> false);
+        cache.put("a", "stale");
+
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void storesWriteThroughPutWithoutPriorMiss() {
+        cache.evict("a");
+        cache.put("a", "written");
+
+        assertThat(cache.get("a", String.class)).isEqualTo("written");
+    }
+
+    @Test
+    void refusesReplicaReadRightAfterItsKeyWasEvicted() throws SQLException {
+        GenerationGuardedCache guarded = new GenerationGuardedCache("test", Caffeine.newBuilder().build(), Duration.ofMinutes(1));
+        guarded.evict("a");
+
+        assertThat(guarded.get("a")).isNull();
+        readFromReplica();
+        guarded.put("a", "possibly stale");
+
+        assertThat(guarded.get("a")).isNull();
+    }
+
+    @Test
+    void storesReplicaReadOfAnotherKey() throws SQLException {
+        GenerationGuardedCache guarded = new GenerationGuardedCache("test", Caffeine.newBuilder().build(), Duration.ofMinutes(1));
+        guarded.evict("b");
+
+        assertThat(guarded.get("a")).isNull();
+        readFromReplica();
+        guarded.put("a", "loaded");
+
+        assertThat(guarded.get("a", String.class)).isEqualTo("loaded");
+    }
+
+    @Test
+    void refusesReplicaReadRightAfterAFilteredEviction() throws SQLException {
+        GenerationGuardedCache guarded = new GenerationGuardedCache("test", Caffeine.newBuilder().build(), Duration.ofMinutes(1));
+        guarded.evictIf(key -> false);
+
+        assertThat(guarded.get("a")).isNull();
+        readFromReplica();
+        guarded.put("a", "possibly stale");
+
+        assertThat(guarded.get("a")).isNull();
+    }
+
+    @Test
+    void storesPrimaryReadRightAfterEviction() {
+        GenerationGuardedCache guarded = new GenerationGuardedCache("test", Caffeine.newBuilder().build(), Duration.ofMinutes(1));
+        guarded.evict("a");
+
+        assertThat(guarded.get("a")).isNull();
+        guarded.put("a", "fresh");
+
+        assertThat(guarded.get("a", String.class)).isEqualTo("fresh");
+    }
+
+    @Test
+    void storesReplicaReadOnceTheWindowHasPassed() throws Exception {
+        GenerationGuardedCache guarded = new GenerationGuardedCache("test", Caffeine.newBuilder().build(), Duration.ofMillis(20));
+        guarded.evict("a");
+        Thread.sleep(50);
+
+        assertThat(guarded.get("a")).isNull();
+        readFromReplica();
+        guarded.put("a", "caught up");
+
+        assertThat(guarded.get("a", String.class)).isEqualTo("caught up");
+    }
+
+    private static void readFromReplica() throws SQLException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:replica", "sa", "");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(dataSource, "SELECT 0", Duration.ofSeconds(5), registry);
+        monitor.check();
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(dataSource, dataSource, monitor, registry);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try (Connection connection = routing.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+}
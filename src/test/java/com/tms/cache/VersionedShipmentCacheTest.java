@@ -0,0 +1,45 @@
+package com.tms.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tms.model.Shipment;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionedShipmentCacheTest {
+
+    private final VersionedShipmentCache cache =
+        new VersionedShipmentCache("test", Caffeine.newBuilder().build(), Duration.ZERO);
+
+    @Test
+    void olderVersionPutAfterANewerOneIsDropped() {
+        cache.put(1L, shipment(3, "newer"));
+        cache.put(1L, shipment(2, "older"));
+
+        assertThat(cache.get(1L, Shipment.class).getSpecialInstructions()).isEqualTo("newer");
+    }
+
+    @Test
+    void newerOrSameVersionReplacesTheCachedOne() {
+        cache.put(1L, shipment(2, "first"));
+        cache.put(1L, shipment(3, "second"));
+        assertThat(cache.get(1L, Shipment.class).getSpecialInstructions()).isEqualTo("second");
+
+        cache.put(1L, shipment(3, "reloaded"));
+        assertThat(cache.get(1L, Shipment.class).getSpecialInstructions()).isEqualTo("reloaded");
+    }
+
+    @Test
+    void readerMissStillGuardsAgainstInvalidation() {
+        assertThat(cache.get(1L)).isNull();
+        cache.evict(2L);
+        cache.put(1L, shipment(1, "stale"));
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    private static Shipment shipment(long version, String instructions) {
+        return Shipment.builder().id(1L).version(version).specialInstructions(instructions).build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.tms.csv;
+
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvWriterTest {
+
+    @Test
+    void escapesFormulaFields() throws IOException {
+        assertThat(write(List.of("=HYPERLINK(\"http://x\")", "+A1", "-2+B3", "@SUM(A1)", "\t=1", "plain", ""), true))
+            .isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\",'+A1,'-2+B3,'@SUM(A1),'\t=1,plain,\r\n");
+        assertThat(write(List.of("\r=1"), true)).isEqualTo("\"'\r=1\"\r\n");
+    }
+
+    @Test
+    void leavesNumbersAndPhoneNumbersAlone() throws IOException {
+        assertThat(write(List.of("+1-555-9999", "-12.5", "+1 (555) 010-0199", "'-5"), true))
+            .isEqualTo("+1-555-9999,-12.5,+1 (555) 010-0199,'-5\r\n");
+    }
+
+    @Test
+    void leavesFormulaFieldsAloneUnlessAsked() throws IOException {
+        assertThat(write(List.of("=1+1", "@x"), false)).isEqualTo("=1+1,@x\r\n");
+    }
+
+    @Test
+    void escapedFieldsReadBackUnchanged() throws IOException {
+        List<String> values = List.of("=1+1", "'=1+1", "''-x", "'quoted", "a-b", "-", "@", "\tx", "'\tx",
+            "+1-555-9999", "'-5", "''+1");
+
+        try (CsvReader reader = new CsvReader(new StringReader(write(values, true)))) {
+            assertThat(reader.next().stream().map(CsvReader::restoreFormula).toList()).isEqualTo(values);
+        }
+    }
+
+    private static String write(List<String> values, boolean escapeFormulas) throws IOException {
+        StringWriter writer = new StringWriter();
+        CsvWriter.writeRecord(writer, values, escapeFormulas);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.tms.event;
+
+import com.tms.dto.ShipmentFilter;
+import com.tms.model.Shipment;
+import com.tms.model.ShipmentStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Disposable;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShipmentEventBusTest {
+
+    private ShipmentEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new ShipmentEventBus(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(bus, "bufferSize", 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.destroy();
+    }
+
+    @Test
+    void statusSubscriberOnlyGetsTransitionsOfItsShipment() throws InterruptedException {
+        BlockingQueue<Shipment> received = new LinkedBlockingQueue<>();
+        Disposable subscription = bus.statusChanges(1L).subscribe(received::add);
+        try {
+            bus.onShipmentChanged(ShipmentChangedEvent.of(shipment(2, ShipmentStatus.PENDING), shipment(2, ShipmentStatus.IN_TRANSIT)));
+            bus.onShipmentChanged(ShipmentChangedEvent.of(shipment(1, ShipmentStatus.PENDING), shipment(1, ShipmentStatus.PENDING)));
+            bus.onShipmentChanged(ShipmentChangedEvent.of(shipment(1, ShipmentStatus.PENDING), shipment(1, ShipmentStatus.DELIVERED)));
+
+            Shipment first = received.poll(5, TimeUnit.SECONDS);
+            assertThat(first).isNotNull();
+            assertThat(first.getId()).isEqualTo(1L);
+            assertThat(first.getStatus()).isEqualTo(ShipmentStatus.DELIVERED);
+            assertThat(received.poll(100, TimeUnit.MILLISECONDS)).isNull();
+        } finally {
+            subscription.dispose();
+        }
+    }
+
+    @Test
+    void filtersRunOnTheDispatcherNotTheCommittingThread() throws InterruptedException {
+        BlockingQueue<String> filteringThreads = new LinkedBlockingQueue<>();
+        ShipmentFilter filter = new ShipmentFilter() {
+            @Override
+            public boolean matches(Shipment shipment) {
+                filteringThreads.add(Thread.currentThread().getName());
+                return shipment.getStatus() == ShipmentStatus.DELIVERED;
+            }
+        };
+        BlockingQueue<Shipment> received = new LinkedBlockingQueue<>();
+        Disposable subscription = bus.updates(filter).subscribe(received::add);
+        try {
+            bus.onShipmentChanged(ShipmentChangedEvent.of(null, shipment(1, ShipmentStatus.PENDING)));
+            bus.onShipmentChanged(ShipmentChangedEvent.of(null, shipment(2, ShipmentStatus.DELIVERED)));
+
+            Shipment delivered = received.poll(5, TimeUnit.SECONDS);
+            assertThat(delivered).isNotNull();
+            assertThat(delivered.getId()).isEqualTo(2L);
+            assertThat(filteringThreads).hasSize(2).allMatch(name -> name.equals("shipment-event-dispatch"));
+        } finally {
+            subscription.dispose();
+        }
+    }
+
+    private static Shipment shipment(long id, ShipmentStatus status) {
+        Shipment shipment = new Shipment();
+        shipment.setId(id);
+        shipment.setStatus(status);
+        return shipment;
+    }
+}
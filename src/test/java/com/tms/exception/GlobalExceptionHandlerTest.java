@@ -0,0 +1,52 @@
+package com.tms.exception;
+
+import graphql.GraphQLError;
+import graphql.Scalars;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.MergedField;
+import graphql.execution.ResultPath;
+import graphql.language.Field;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.graphql.execution.ErrorType;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void unwrapsCallableFailure() {
+        Exception ex = new CompletionException(new IllegalStateException(
+            "Failure in Callable returned from ShipmentQueryResolver.shipment", new ResourceNotFoundException("missing")));
+
+        GraphQLError error = handler.resolveToSingleError(ex, environment());
+
+        assertThat(error.getErrorType()).isEqualTo(ErrorType.NOT_FOUND);
+        assertThat(error.getMessage()).isEqualTo("missing");
+    }
+
+    @Test
+    void keepsApplicationIllegalStateException() {
+        Exception ex = new IllegalStateException("Import already running", new IllegalArgumentException("cause"));
+
+        GraphQLError error = handler.resolveToSingleError(ex, environment());
+
+        assertThat(error.getErrorType()).isEqualTo(ErrorType.INTERNAL_ERROR);
+        assertThat(error.getMessage()).contains("Import already running");
+    }
+
+    private static DataFetchingEnvironment environment() {
+        Field field = Field.newField("shipment").build();
+        return DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+            .mergedField(MergedField.newMergedField(field).build())
+            .executionStepInfo(ExecutionStepInfo.newExecutionStepInfo()
+                .type(Scalars.GraphQLString)
+                .path(ResultPath.rootPath().segment("shipment"))
+                .build())
+            .build();
+    }
+}
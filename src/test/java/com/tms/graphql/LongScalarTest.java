@@ -0,0 +1,43 @@
+package com.tms.graphql;
+
+import graphql.GraphQLContext;
+import graphql.execution.CoercedVariables;
+import graphql.language.IntValue;
+import graphql.schema.Coercing;
+import graphql.schema.CoercingParseLiteralException;
+import graphql.schema.CoercingSerializeException;
+import org.junit.jupiter.api.Test;
+import java.math.BigInteger;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongScalarTest {
+
+    private final Coercing<?, ?> coercing = LongScalar.LONG.getCoercing();
+    private final GraphQLContext context = GraphQLContext.getDefault();
+
+    @Test
+    void serializesCountsBeyondIntRange() {
+        long count = Integer.MAX_VALUE + 1L;
+
+        assertThat(coercing.serialize(count, context, Locale.ROOT)).isEqualTo(count);
+        assertThat(coercing.serialize(42, context, Locale.ROOT)).isEqualTo(42L);
+    }
+
+    @Test
+    void rejectsNonIntegers() {
+        assertThatThrownBy(() -> coercing.serialize(1.5, context, Locale.ROOT))
+            .isInstanceOf(CoercingSerializeException.class);
+    }
+
+    @Test
+    void parsesLiteralsWithinRange() {
+        assertThat(coercing.parseLiteral(new IntValue(BigInteger.valueOf(Long.MAX_VALUE)), CoercedVariables.emptyVariables(),
+            context, Locale.ROOT)).isEqualTo(Long.MAX_VALUE);
+        assertThatThrownBy(() -> coercing.parseLiteral(new IntValue(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE)),
+            CoercedVariables.emptyVariables(), context, Locale.ROOT))
+            .isInstanceOf(CoercingParseLiteralException.class);
+    }
+}
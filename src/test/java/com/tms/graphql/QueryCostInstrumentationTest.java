@@ -0,0 +1,100 @@
+package com.tms.graphql;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.introspection.IntrospectionQuery;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+class QueryCostInstrumentationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    // Through the security filter chain, as a request to the server would go
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+            .addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+            .build();
+    }
+
+    @Test
+    void introspectionSucceedsAnonymously() {
+        Map<String, Object> response = execute(IntrospectionQuery.INTROSPECTION_QUERY, null);
+
+        assertThat(response).doesNotContainKey("errors");
+        assertThat(response).extractingByKey("data").asString().contains("__schema");
+    }
+
+    @Test
+    void introspectionSucceedsForAdmin() {
+        Map<String, Object> response = execute(IntrospectionQuery.INTROSPECTION_QUERY, login("admin", "admin123"));
+
+        assertThat(response).doesNotContainKey("errors");
+        assertThat(response).extractingByKey("data").asString().contains("__schema");
+    }
+
+    @Test
+    void dataQueriesAreStillScored() {
+        Map<String, Object> response = execute("{ shipments(page: {size: 1000}) { content { id shipmentNumber } } }", null);
+
+        assertThat(response).extractingByKey("errors").asString().contains("exceeds the budget");
+    }
+
+    @SuppressWarnings("unchecked")
+    private String login(String username, String password) {
+        Map<String, Object> response = execute(
+            "mutation { login(username: \"" + username + "\", password: \"" + password + "\") { token } }", null);
+        Map<String, Object> data = (Map<String, Object>) response.get("data");
+        return (String) ((Map<String, Object>) data.get("login")).get("token");
+    }
+
+    private Map<String, Object> execute(String query, String token) {
+        MockHttpServletRequestBuilder request = post("/graphql")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(json(Map.of("query", query)));
+        if (token != null) {
+            request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        try {
+            MvcResult result = mockMvc.perform(request).andReturn();
+            if (result.getRequest().isAsyncStarted()) {
+                result = mockMvc.perform(asyncDispatch(result)).andReturn();
+            }
+            return objectMapper.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<Map<String, Object>>() { });
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
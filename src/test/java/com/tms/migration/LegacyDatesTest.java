@@ -0,0 +1,55 @@
+package com.tms.migration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LegacyDatesTest {
+
+    private static final LocalDate MARCH_4 = LocalDate.of(2024, 3, 4);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "2024-03-04",
+        "2024-03-04T10:15:30",
+        "2024-03-04T23:30:00-05:00",
+        "2024-03-04T10:15:30Z",
+        "2024-03-04 10:15",
+        "2024-03-04 10:15:30",
+        "2024/3/4",
+        "3/4/2024",
+        "4.3.2024",
+        "Mar 4, 2024",
+        "March 4 2024",
+        "4 MAR 2024",
+        "4 march 2024",
+        "  2024-03-04  "
+    })
+    void parsesKnownFormats(String value) {
+        assertThat(LegacyDates.parse(value)).isEqualTo(MARCH_4);
+    }
+
+    @Test
+    void slashDatesAreMonthFirst() {
+        assertThat(LegacyDates.parse("03/04/2024")).isEqualTo(MARCH_4);
+        assertThat(LegacyDates.parse("04.03.2024")).isEqualTo(MARCH_4);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"13/01/2024", "2024-02-30", "31.4.2024", "04-03-2024", "2024-3-4", "next week"})
+    void rejectsUnknownOrInvalidDates(String value) {
+        assertThatThrownBy(() -> LegacyDates.parse(value))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining(value);
+    }
+
+    @Test
+    void blankIsNull() {
+        assertThat(LegacyDates.parse(null)).isNull();
+        assertThat(LegacyDates.parse("   ")).isNull();
+    }
+}
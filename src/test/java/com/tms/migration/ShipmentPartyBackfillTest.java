@@ -0,0 +1,94 @@
+package com.tms.migration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against the application database: the seed shipments are already linked, so only the
+// rows written here (ids from 9000, names starting "Backfill") are the backfill's to do
+@SpringBootTest
+class ShipmentPartyBackfillTest {
+
+    private static final String LEGACY_COLUMNS = "carrier_contact_legacy, shipper_email_legacy, shipper_phone_legacy";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShipmentPartyBackfill backfill;
+
+    private Object batchSize;
+
+    @BeforeEach
+    void smallBatches() {
+        batchSize = ReflectionTestUtils.getField(backfill, "batchSize");
+        ReflectionTestUtils.setField(backfill, "batchSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(backfill, "batchSize", batchSize);
+        jdbcTemplate.update("DELETE FROM shipments WHERE id >= 9000");
+        jdbcTemplate.update("DELETE FROM carriers WHERE name LIKE 'Backfill%'");
+        jdbcTemplate.update("DELETE FROM shippers WHERE name LIKE 'Backfill%'");
+        for (String column : LEGACY_COLUMNS.split(", ")) {
+            jdbcTemplate.execute("ALTER TABLE shipments DROP COLUMN IF EXISTS " + column);
+        }
+    }
+
+    @Test
+    void linksEveryRangeAndCreatesEachNameOnce() {
+        for (int i = 1; i <= 7; i++) {
+            insert(9000 + i * 10, i % 2 == 0 ? "UPS Ground" : "Backfill Carrier", "Backfill Shipper " + (i % 3));
+        }
+
+        backfill.run();
+
+        assertThat(count("SELECT COUNT(*) FROM shipments WHERE carrier_id IS NULL OR shipper_id IS NULL")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM carriers WHERE name IN ('UPS Ground', 'Backfill Carrier')")).isEqualTo(2);
+        assertThat(count("SELECT COUNT(*) FROM shippers WHERE name LIKE 'Backfill%'")).isEqualTo(3);
+        assertThat(count("SELECT COUNT(*) FROM shipments s JOIN carriers c ON c.id = s.carrier_id "
+            + "WHERE c.name <> s.carrier_name")).isZero();
+    }
+
+    @Test
+    void movesLegacyContactsWithoutOverwritingCurrentOnes() {
+        jdbcTemplate.execute("ALTER TABLE shipments ADD COLUMN carrier_contact VARCHAR(255)");
+        jdbcTemplate.execute("ALTER TABLE shipments ADD COLUMN shipper_email VARCHAR(255)");
+        jdbcTemplate.execute("ALTER TABLE shipments ADD COLUMN shipper_phone VARCHAR(255)");
+        insert(9001, "FedEx Express", "Backfill Shipper");
+        insert(9002, "Backfill Carrier", "Backfill Shipper");
+        jdbcTemplate.update("UPDATE shipments SET carrier_contact = 'old@fedex.com', shipper_email = 'old@shipper.com' "
+            + "WHERE id = 9001");
+        jdbcTemplate.update("UPDATE shipments SET carrier_contact = 'ops@carrier.com', shipper_phone = '+1-555-0199' "
+            + "WHERE id = 9002");
+
+        backfill.run();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT contact FROM carriers WHERE name = 'FedEx Express'", String.class))
+            .isEqualTo("fedex@carrier.com");
+        assertThat(jdbcTemplate.queryForObject("SELECT contact FROM carriers WHERE name = 'Backfill Carrier'", String.class))
+            .isEqualTo("ops@carrier.com");
+        assertThat(jdbcTemplate.queryForMap("SELECT email, phone FROM shippers WHERE name = 'Backfill Shipper'"))
+            .containsEntry("EMAIL", "old@shipper.com")
+            .containsEntry("PHONE", "+1-555-0199");
+        assertThat(jdbcTemplate.queryForList("SELECT " + LEGACY_COLUMNS + " FROM shipments WHERE id = 9002")).hasSize(1);
+    }
+
+    private void insert(long id, String carrierName, String shipperName) {
+        jdbcTemplate.update("INSERT INTO shipments (id, shipment_number, shipper_name, carrier_name, pickup_location, "
+            + "delivery_location, status, currency, flagged, version, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, 'A', 'B', 'PENDING', 'USD', FALSE, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+            id, "BF-" + id, shipperName, carrierName);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
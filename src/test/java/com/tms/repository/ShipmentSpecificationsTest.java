@@ -0,0 +1,33 @@
+package com.tms.repository;
+
+import com.tms.dto.ShipmentFilter;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ShipmentSpecificationsTest {
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    // Seed data: one "FedEx Express" shipment, no name containing %, _ or a backslash
+    @ParameterizedTest
+    @CsvSource({
+        "fedex, 1",
+        "FedEx Express, 1",
+        "FedEx_Express, 0",
+        "Fed%Express, 0",
+        "%, 0",
+        "_, 0",
+        "\\, 0"
+    })
+    void carrierNameIsMatchedAsPlainSubstring(String fragment, long expected) {
+        ShipmentFilter filter = ShipmentFilter.builder().carrierName(fragment).build();
+
+        assertThat(shipmentRepository.count(ShipmentSpecifications.matching(filter))).isEqualTo(expected);
+    }
+}
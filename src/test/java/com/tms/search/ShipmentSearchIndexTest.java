@@ -0,0 +1,69 @@
+package com.tms.search;
+
+import com.tms.dto.ShipmentFilter;
+import com.tms.event.ShipmentChangedEvent;
+import com.tms.model.Shipment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShipmentSearchIndexTest {
+
+    private static final long LARGE_ID = Integer.MAX_VALUE + 10L;
+
+    private JdbcTemplate jdbcTemplate;
+    private ShipmentSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:search;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE shipments (id BIGINT PRIMARY KEY, shipper_name VARCHAR(255), "
+            + "carrier_name VARCHAR(255), pickup_location VARCHAR(255), delivery_location VARCHAR(255))");
+        jdbcTemplate.update("INSERT INTO shipments VALUES (1, 'Acme', 'FastFreight', 'Boston', 'Denver')");
+        jdbcTemplate.update("INSERT INTO shipments VALUES (?, 'Acme', 'SlowFreight', 'Austin', 'Seattle')", LARGE_ID);
+        index = new ShipmentSearchIndex(jdbcTemplate);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxCandidates", 100);
+        index.afterSingletonsInstantiated();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE shipments");
+    }
+
+    @Test
+    void loadsIdsBeyondIntRange() {
+        assertThat(index.candidates(ShipmentFilter.builder().shipperName("acme").build()))
+            .hasValueSatisfying(ids -> assertThat(ids).containsExactlyInAnyOrder(1L, LARGE_ID));
+        assertThat(index.candidates(ShipmentFilter.builder().carrierName("slow").build()))
+            .hasValueSatisfying(ids -> assertThat(ids).containsExactly(LARGE_ID));
+    }
+
+    @Test
+    void appliesChangesToIdsBeyondIntRange() {
+        long created = LARGE_ID + 1;
+        index.onShipmentChanged(ShipmentChangedEvent.of(null, shipment(created, "Globex")));
+        index.onShipmentChanged(ShipmentChangedEvent.of(shipment(LARGE_ID, "Acme"), shipment(LARGE_ID, "Initech")));
+
+        assertThat(index.candidates(ShipmentFilter.builder().shipperName("globex").build()))
+            .hasValueSatisfying(ids -> assertThat(ids).containsExactly(created));
+        assertThat(index.candidates(ShipmentFilter.builder().shipperName("acme").build()))
+            .hasValueSatisfying(ids -> assertThat(ids).containsExactly(1L));
+    }
+
+    private static Shipment shipment(long id, String shipperName) {
+        Shipment shipment = new Shipment();
+        shipment.setId(id);
+        shipment.setShipperName(shipperName);
+        shipment.setCarrierName("SlowFreight");
+        shipment.setPickupLocation("Austin");
+        shipment.setDeliveryLocation("Seattle");
+        return shipment;
+    }
+}
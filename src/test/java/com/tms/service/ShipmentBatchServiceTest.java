@@ -0,0 +1,69 @@
+package com.tms.service;
+
+import com.tms.dto.ShipmentBatchError;
+import com.tms.dto.ShipmentBatchResult;
+import com.tms.event.ShipmentChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@RecordApplicationEvents
+class ShipmentBatchServiceTest {
+
+    @Autowired
+    private ShipmentBatchService shipmentBatchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void failedItemIsReportedWithItsId() {
+        jdbcTemplate.execute("ALTER TABLE shipments ADD CONSTRAINT no_flag_2 CHECK (id <> 2 OR flagged = FALSE)");
+        try {
+            ShipmentBatchResult result = shipmentBatchService.flagShipments(List.of(1L, 2L), true);
+
+            assertThat(result.getIds()).containsExactly(1L);
+            assertThat(result.getErrors()).extracting(ShipmentBatchError::getIndex, ShipmentBatchError::getId)
+                .containsExactly(tuple(1, 2L));
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE shipments DROP CONSTRAINT no_flag_2");
+            shipmentBatchService.flagShipments(List.of(1L), false);
+        }
+    }
+
+    @Test
+    void nonDatabaseFailureOnlyFailsItsItem() {
+        ShipmentBatchResult result = shipmentBatchService.flagShipments(Arrays.asList(4L, null), false);
+
+        assertThat(result.getIds()).containsExactly(4L);
+        assertThat(result.getErrors()).extracting(ShipmentBatchError::getIndex).containsExactly(1);
+    }
+
+    @Test
+    void eachCommittedChunkPublishesItsOwnChanges() {
+        Object chunkSize = ReflectionTestUtils.getField(shipmentBatchService, "chunkSize");
+        ReflectionTestUtils.setField(shipmentBatchService, "chunkSize", 2);
+        try {
+            shipmentBatchService.flagShipments(List.of(5L, 6L, 8L), false);
+        } finally {
+            ReflectionTestUtils.setField(shipmentBatchService, "chunkSize", chunkSize);
+        }
+
+        assertThat(events.stream(ShipmentChangedEvent.class))
+            .map(event -> event.getChanges().stream().map(change -> change.getAfter().getId()).toList())
+            .containsExactly(List.of(5L, 6L), List.of(8L));
+    }
+}
@@ -0,0 +1,100 @@
+package com.tms.service;
+
+import com.tms.dto.ShipmentImportResult;
+import com.tms.model.ImportStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ShipmentImportServiceTest {
+
+    private static final String HEADER = "shipmentNumber,shipperName,carrierName,pickupLocation,deliveryLocation\n";
+
+    @Autowired
+    private ShipmentImportService shipmentImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM shipments WHERE shipment_number LIKE 'IMP-%'");
+    }
+
+    @Test
+    void unexpectedFailureMarksTheImportFailedAndResumable() {
+        ShipmentImportResult failed = importFile(failingAfter(csv(1, 4), csv(1, 3).length() - 5), null);
+
+        assertThat(failed.getStatus()).isEqualTo(ImportStatus.FAILED);
+        assertThat(failed.getLastError()).isEqualTo("connection reset");
+        assertThat(failed.getRowsCommitted()).isEqualTo(2);
+
+        ShipmentImportResult resumed = importFile(stream(csv(1, 4)), failed.getImportId());
+
+        assertThat(resumed.getStatus()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(resumed.getImportedCount()).isEqualTo(4);
+    }
+
+    @Test
+    void resumeWithADifferentFileIsRejected() {
+        ShipmentImportResult failed = importFile(failingAfter(csv(1, 4), csv(1, 3).length() - 5), null);
+
+        ShipmentImportResult other = importFile(stream(csv(11, 14)), failed.getImportId());
+
+        assertThat(other.getStatus()).isEqualTo(ImportStatus.FAILED);
+        assertThat(other.getLastError()).contains("first 2 rows differ");
+        assertThat(other.getImportedCount()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM shipments WHERE shipment_number LIKE 'IMP-1_'",
+            Long.class)).isZero();
+    }
+
+    private ShipmentImportResult importFile(InputStream in, Long importId) {
+        Object chunkSize = ReflectionTestUtils.getField(shipmentImportService, "chunkSize");
+        ReflectionTestUtils.setField(shipmentImportService, "chunkSize", 2);
+        try {
+            return shipmentImportService.importShipments(in, "test.csv", importId);
+        } finally {
+            ReflectionTestUtils.setField(shipmentImportService, "chunkSize", chunkSize);
+        }
+    }
+
+    private static String csv(int from, int to) {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = from; i <= to; i++) {
+            csv.append("IMP-").append(i).append(",Acme Corporation,FedEx Express,Austin,Denver\n");
+        }
+        return csv.toString();
+    }
+
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Delivers the first bytes, then fails as a dropped upload would, with an unchecked exception;
+    // cut inside row 3, as the reader looks one character past the end of a row
+    private static InputStream failingAfter(String csv, int bytes) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] buffer, int offset, int length) {
+                if (pos >= bytes) {
+                    throw new IllegalStateException("connection reset");
+                }
+                return super.read(buffer, offset, Math.min(length, bytes - pos));
+            }
+
+            @Override
+            public synchronized int available() {
+                return Math.max(0, bytes - pos);
+            }
+        };
+    }
+}
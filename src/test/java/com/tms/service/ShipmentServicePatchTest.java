@@ -0,0 +1,118 @@
+package com.tms.service;
+
+import com.tms.config.CacheConfig;
+import com.tms.dto.ShipmentPatch;
+import com.tms.metrics.SqlStatementCounter;
+import com.tms.model.Shipment;
+import graphql.GraphQLContext;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ShipmentServicePatchTest {
+
+    private static final long ID = 10L;
+
+    @Autowired
+    private ShipmentService shipmentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Map<String, Object> seedRow;
+    private long version;
+
+    @BeforeEach
+    void cacheSeedRow() {
+        seedRow = jdbcTemplate.queryForMap(
+            "SELECT special_instructions, version, updated_at FROM shipments WHERE id = ?", ID);
+        shipmentService.findById(ID);
+        version = dbVersion();
+    }
+
+    // Puts seed row 10 back as data.sql wrote it, for the tests that share the database
+    @AfterEach
+    void restoreSeedRow() {
+        jdbcTemplate.update("UPDATE shipments SET special_instructions = ?, version = ?, updated_at = ? WHERE id = ?",
+            seedRow.get("SPECIAL_INSTRUCTIONS"), seedRow.get("VERSION"), seedRow.get("UPDATED_AT"), ID);
+        cacheManager.getCache(CacheConfig.SHIPMENT_CACHE).evict(ID);
+    }
+
+    @Test
+    void cacheHitPatchesInOneStatement() {
+        AtomicInteger statements = SqlStatementCounter.start();
+        Shipment patched;
+        try (ContextSnapshot.Scope scope = ContextSnapshotFactory.builder().build()
+                .setThreadLocalsFrom(GraphQLContext.of(Map.of(SqlStatementCounter.KEY, statements)), SqlStatementCounter.KEY)) {
+            patched = shipmentService.patchShipment(ID, instructions("one statement"), null);
+        }
+
+        assertThat(statements.get()).isEqualTo(1);
+        assertThat(patched.getVersion()).isEqualTo(version + 1);
+        assertThat(dbVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void staleCachedCopyIsReReadAndRetried() {
+        writeElsewhere();
+
+        Shipment patched = shipmentService.patchShipment(ID, instructions("retried"), null);
+
+        assertThat(patched.getVersion()).isEqualTo(version + 1);
+        assertThat(patched.getSpecialInstructions()).isEqualTo("retried");
+        assertThat(dbVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void expectedVersionMatchingTheDatabaseSucceedsDespiteStaleCache() {
+        writeElsewhere();
+
+        Shipment patched = shipmentService.patchShipment(ID, instructions("expected"), version);
+
+        assertThat(patched.getVersion()).isEqualTo(version + 1);
+        assertThat(dbVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void expectedVersionBehindTheDatabaseConflicts() {
+        writeElsewhere();
+
+        assertThatThrownBy(() -> shipmentService.patchShipment(ID, instructions("conflict"), version - 1))
+            .isInstanceOf(OptimisticLockingFailureException.class)
+            .hasMessageContaining("expected version " + (version - 1));
+
+        assertThat(dbVersion()).isEqualTo(version);
+    }
+
+    // Moves the row on behind the cache's back, as another instance would
+    private void writeElsewhere() {
+        jdbcTemplate.update("UPDATE shipments SET version = version + 1 WHERE id = ?", ID);
+        version = dbVersion();
+        assertThat(cacheManager.getCache(CacheConfig.SHIPMENT_CACHE).get(ID, Shipment.class).getVersion())
+            .isEqualTo(version - 1);
+    }
+
+    private long dbVersion() {
+        return jdbcTemplate.queryForObject("SELECT version FROM shipments WHERE id = ?", Long.class, ID);
+    }
+
+    private static ShipmentPatch instructions(String text) {
+        return ShipmentPatch.builder().specialInstructions(text).build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.tms.service;
+
+import com.tms.dto.PageInput;
+import com.tms.model.Shipment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ShipmentServiceSortTest {
+
+    @Autowired
+    private ShipmentService shipmentService;
+
+    @ParameterizedTest
+    @CsvSource(value = {"NULL, sideways", "'', sideways", "shipmentNumber, sideways", "shipmentNumber, ascending"}, nullValues = "NULL")
+    void invalidDirectionIsRejectedWithOrWithoutSortBy(String sortBy, String sortDirection) {
+        assertThatThrownBy(() -> shipmentService.findShipments(null, new PageInput(0, 5), sortBy, sortDirection, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid sortDirection: " + sortDirection);
+        assertThatThrownBy(() -> shipmentService.findShipmentsConnection(null, 5, null, sortBy, sortDirection, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid sortDirection: " + sortDirection);
+    }
+
+    @Test
+    void directionAppliesToTheDefaultSortToo() {
+        Shipment oldest = shipmentService.findShipments(null, new PageInput(0, 1), null, "asc", null).getContent().get(0);
+        Shipment newest = shipmentService.findShipments(null, new PageInput(0, 1), null, null, null).getContent().get(0);
+
+        assertThat(oldest.getCreatedAt()).isBefore(newest.getCreatedAt());
+    }
+}
@@ -0,0 +1,147 @@
+package com.tms.stats;
+
+import com.tms.dto.ShipmentStats;
+import com.tms.dto.StatusCount;
+import com.tms.event.ShipmentChangedEvent;
+import com.tms.model.Shipment;
+import com.tms.model.ShipmentStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShipmentStatsCountersTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ShipmentStatsCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:stats;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE shipments (id BIGINT PRIMARY KEY, status VARCHAR(32), carrier_name VARCHAR(255), "
+            + "rate DOUBLE, weight DOUBLE, flagged BOOLEAN)");
+        insert(1, ShipmentStatus.PENDING);
+        insert(2, ShipmentStatus.DELIVERED);
+        counters = new ShipmentStatsCounters(jdbcTemplate);
+        counters.afterSingletonsInstantiated();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE shipments");
+    }
+
+    @Test
+    void loadsCountsAtStartup() {
+        assertThat(statusCounts()).containsExactlyInAnyOrderEntriesOf(Map.of(
+            ShipmentStatus.PENDING, 1L, ShipmentStatus.DELIVERED, 1L));
+    }
+
+    @Test
+    void changeCommittedButNotYetAppliedIsNotCountedTwice() {
+        // Committed, but its event has not reached the counters when reconcile reads
+        insert(3, ShipmentStatus.PENDING);
+        counters.reconcile();
+        counters.onShipmentChanged(ShipmentChangedEvent.of(null, shipment(3, ShipmentStatus.PENDING)));
+        counters.reconcile();
+
+        assertThat(statusCounts()).containsEntry(ShipmentStatus.PENDING, 2L);
+        assertThat(counters.snapshot().getTotalCount()).isEqualTo(3);
+    }
+
+    @Test
+    void persistentDriftIsCorrectedOnTheSecondRun() {
+        // Written without an event, so the counters never hear of it
+        insert(3, ShipmentStatus.IN_TRANSIT);
+        counters.reconcile();
+        assertThat(statusCounts()).doesNotContainKey(ShipmentStatus.IN_TRANSIT);
+
+        counters.reconcile();
+        assertThat(statusCounts()).containsEntry(ShipmentStatus.IN_TRANSIT, 1L);
+        assertThat(counters.snapshot().getTotalCount()).isEqualTo(3);
+    }
+
+    @Test
+    void driftCorrectionKeepsChangesAppliedSinceIt() {
+        insert(3, ShipmentStatus.IN_TRANSIT);
+        counters.reconcile();
+        insert(4, ShipmentStatus.PENDING);
+        counters.onShipmentChanged(ShipmentChangedEvent.of(null, shipment(4, ShipmentStatus.PENDING)));
+        counters.reconcile();
+
+        assertThat(statusCounts()).containsExactlyInAnyOrderEntriesOf(Map.of(
+            ShipmentStatus.PENDING, 2L, ShipmentStatus.DELIVERED, 1L, ShipmentStatus.IN_TRANSIT, 1L));
+    }
+
+    @Test
+    void driftIsCorrectedWhileOtherAggregatesKeepChanging() throws Exception {
+        // Drift on IN_TRANSIT, carrier "Other" and the flagged total, while a stream of events
+        // keeps moving PENDING and carrier "Carrier" throughout every reconciliation
+        jdbcTemplate.update("INSERT INTO shipments VALUES (3, 'IN_TRANSIT', 'Other', 5.0, 2.0, TRUE)");
+        AtomicBoolean streaming = new AtomicBoolean(true);
+        AtomicLong nextId = new AtomicLong(100);
+        CountDownLatch started = new CountDownLatch(10);
+        Thread stream = new Thread(() -> {
+            while (streaming.get()) {
+                long id = nextId.getAndIncrement();
+                insert(id, ShipmentStatus.PENDING);
+                counters.onShipmentChanged(ShipmentChangedEvent.of(null, shipment(id, ShipmentStatus.PENDING)));
+                started.countDown();
+            }
+        });
+        stream.start();
+        try {
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            long before = nextId.get();
+            counters.reconcile();
+            counters.reconcile();
+            assertThat(nextId.get()).isGreaterThan(before);
+
+            ShipmentStats stats = counters.snapshot();
+            assertThat(statusCounts()).containsEntry(ShipmentStatus.IN_TRANSIT, 1L);
+            assertThat(stats.getFlaggedCount()).isEqualTo(1);
+            assertThat(stats.getByCarrier()).filteredOn(carrier -> carrier.getCarrierName().equals("Other"))
+                .singleElement()
+                .satisfies(carrier -> {
+                    assertThat(carrier.getCount()).isEqualTo(1);
+                    assertThat(carrier.getTotalRate()).isEqualTo(5.0);
+                });
+        } finally {
+            streaming.set(false);
+            stream.join();
+        }
+
+        // Nothing was counted twice: once the stream stops the counters match the table
+        assertThat(statusCounts()).containsEntry(ShipmentStatus.PENDING,
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM shipments WHERE status = 'PENDING'", Long.class));
+    }
+
+    private Map<ShipmentStatus, Long> statusCounts() {
+        ShipmentStats stats = counters.snapshot();
+        return stats.getByStatus().stream().collect(Collectors.toMap(StatusCount::getStatus, StatusCount::getCount));
+    }
+
+    private void insert(long id, ShipmentStatus status) {
+        jdbcTemplate.update("INSERT INTO shipments VALUES (?, ?, 'Carrier', 10.0, 1.0, FALSE)", id, status.name());
+    }
+
+    private static Shipment shipment(long id, ShipmentStatus status) {
+        Shipment shipment = new Shipment();
+        shipment.setId(id);
+        shipment.setStatus(status);
+        shipment.setCarrierName("Carrier");
+        shipment.setRate(10.0);
+        shipment.setWeight(1.0);
+        shipment.setFlagged(false);
+        return shipment;
+    }
+}